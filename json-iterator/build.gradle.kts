@@ -3,3 +3,25 @@ testModuleInfo {
   runtimeOnly("org.junit.jupiter.engine")
   requires("org.junit.jupiter.params")
 }
+
+// tasks.test covers the SWAR only scanning, vectorTest repeats the same tests with the
+// optional vectorized scanning in BytesJsonIterator.
+val vectorTest by tasks.registering(Test::class) {
+  description = "Runs the tests with the jdk.incubator.vector module added."
+  group = LifecycleBasePlugin.VERIFICATION_GROUP
+  val test = tasks.test.get()
+  testClassesDirs = test.testClassesDirs
+  classpath = test.classpath
+  jvmArgumentProviders.addAll(test.jvmArgumentProviders)
+  useJUnitPlatform()
+  testLogging {
+    events("failed")
+    exceptionFormat = org.gradle.api.tasks.testing.logging.TestExceptionFormat.FULL
+  }
+  jvmArgs("--add-modules", "jdk.incubator.vector")
+  shouldRunAfter(test)
+}
+
+tasks.check {
+  dependsOn(vectorTest)
+}
@@ -1,4 +1,6 @@
 module systems.comodal.json_iterator {
+  requires static jdk.incubator.vector;
+
   exports systems.comodal.jsoniter;
   exports systems.comodal.jsoniter.factory;
 
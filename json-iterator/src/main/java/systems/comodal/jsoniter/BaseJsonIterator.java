@@ -1,11 +1,15 @@
 package systems.comodal.jsoniter;
 
+import java.lang.foreign.MemorySegment;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Base64;
 
+import static systems.comodal.jsoniter.BigNumberParser.*;
 import static systems.comodal.jsoniter.ContextFieldBufferMaskedPredicate.BREAK_OUT;
 import static systems.comodal.jsoniter.ValueType.*;
 
@@ -13,44 +17,21 @@ abstract class BaseJsonIterator implements JsonIterator {
 
   protected static final CharBufferFunction<String> READ_STRING_FUNCTION = String::new;
 
+  private static final int[] EMPTY_INT_ARRAY = new int[0];
+  private static final long[] EMPTY_LONG_ARRAY = new long[0];
+  private static final double[] EMPTY_DOUBLE_ARRAY = new double[0];
+
   static final int INVALID_CHAR_FOR_NUMBER = -1;
   static final int[] INT_DIGITS = INIT_INT_DIGITS.initIntDigits();
 
-  private static final CharBufferFunction<BigDecimal> READ_BIG_DECIMAL_FUNCTION = (chars, offset, len) -> len == 0 ? null : new BigDecimal(chars, offset, len);
-
-  private static final CharBufferFunction<BigDecimal> READ_BIG_DECIMAL_DROP_TRAILING_ZEROES_FUNCTION = (chars, offset, len) -> {
-    if (len == 1) {
-      return chars[offset] == '0'
-          ? BigDecimal.ZERO
-          : new BigDecimal(chars, offset, len);
-    } else if (len == 0) {
-      return null;
-    }
-    int pos = (offset + len) - 1;
-    if (chars[pos] != '0') {
-      return new BigDecimal(chars, offset, len);
-    }
-    char c = chars[--pos];
-    while (c == '0') {
-      if (pos == offset) {
-        return BigDecimal.ZERO;
-      }
-      c = chars[--pos];
-    }
-    for (int j = pos; c != '.'; c = chars[--j]) {
-      if ((c == 'e') || (c == 'E')) {
-        return new BigDecimal(chars, offset, len).stripTrailingZeros();
-      } else if (j == offset) { // Not a decimal
-        return new BigDecimal(chars, offset, len);
-      }
-    }
-    return new BigDecimal(chars, offset, (pos + 1) - offset);
-  };
-
-  private static final CharBufferFunction<BigInteger> READ_BIG_INTEGER_FUNCTION = (chars, offset, len) -> new BigInteger(new String(chars, offset, len));
-
   int head;
   int tail;
+  private byte[] utf8Bytes;
+  // Buffer index from which loadMore must retain the bytes of a raw value, or -1.
+  int captureFrom = -1;
+  byte[] captured;
+  int capturedLen;
+  StringCache stringCache;
 
   BaseJsonIterator(final int head, final int tail) {
     this.head = head;
@@ -68,6 +49,26 @@ abstract class BaseJsonIterator implements JsonIterator {
     return this;
   }
 
+  @Override
+  public JsonIterator reset(final ByteBuffer buf) {
+    return keepStringCache(JsonIterator.parse(buf));
+  }
+
+  @Override
+  public JsonIterator reset(final MemorySegment segment) {
+    return keepStringCache(JsonIterator.parse(segment));
+  }
+
+  @Override
+  public JsonIterator reset(final ReadableByteChannel channel) {
+    return keepStringCache(JsonIterator.parse(channel, 8_192));
+  }
+
+  @Override
+  public JsonIterator reset(final ReadableByteChannel channel, final int bufSize) {
+    return keepStringCache(JsonIterator.parse(channel, bufSize));
+  }
+
   abstract String getBufferString(final int from, final int to);
 
   final JsonException reportError(final String op, final String msg) {
@@ -97,6 +98,17 @@ abstract class BaseJsonIterator implements JsonIterator {
     return false;
   }
 
+  /**
+   * @return the absolute position of head, which remains valid for {@link #reset(long)} across
+   * {@link #loadMore()} calls until {@link #unpin()}, for iterators supporting mark/reset.
+   */
+  long pin() {
+    return head;
+  }
+
+  void unpin() {
+  }
+
   protected final void skip(final int n) {
     head += n;
     if (head >= tail) {
@@ -599,7 +611,24 @@ abstract class BaseJsonIterator implements JsonIterator {
   }
 
   protected String parseString() {
-    return parse(READ_STRING_FUNCTION);
+    return stringCache == null ? parse(READ_STRING_FUNCTION) : parse(stringCache);
+  }
+
+  @Override
+  public final JsonIterator internStrings(final int maxEntries, final int maxLength) {
+    if (maxEntries < 0 || maxLength < 0) {
+      throw new IllegalArgumentException("maxEntries and maxLength must not be negative.");
+    }
+    this.stringCache = maxEntries == 0 || maxLength == 0 ? null : new StringCache(maxEntries, maxLength);
+    return this;
+  }
+
+  /**
+   * Hands the String cache to the iterator returned by a reset to another type of source.
+   */
+  final JsonIterator keepStringCache(final JsonIterator ji) {
+    ((BaseJsonIterator) ji).stringCache = stringCache;
+    return ji;
   }
 
   @Override
@@ -780,6 +809,170 @@ abstract class BaseJsonIterator implements JsonIterator {
                                 final ContextFieldBufferPredicate<C> fieldBufferFunction,
                                 final int offset, final int len);
 
+  private static final ContextFieldBytesPredicate<FieldBytesPredicate> TEST_FIELD_BYTES =
+      (fieldBytesFunction, buf, offset, len, ji) -> fieldBytesFunction.test(buf, offset, len, ji);
+
+  @Override
+  public final void testObjectBytes(final FieldBytesPredicate fieldBytesFunction) {
+    testObjectBytes(fieldBytesFunction, TEST_FIELD_BYTES);
+  }
+
+  @Override
+  public final <C> C testObjectBytes(final C context, final ContextFieldBytesPredicate<C> fieldBytesFunction) {
+    char c;
+    for (int offset, len; ; ) {
+      if ((c = nextToken()) == ',') {
+        c = nextToken();
+        if (c != '"') {
+          throw reportError("testObjectBytes", "expected string field, but " + c);
+        }
+        offset = head;
+        len = parseFieldBytes();
+        if ((c = nextToken()) != ':') {
+          throw reportError("testObjectBytes", "expected :, but " + c);
+        } else if (breakOut(context, fieldBytesFunction, offset, len)) {
+          return context;
+        }
+      } else if (c == '{') {
+        c = nextToken();
+        if (c == '"') {
+          offset = head;
+          len = parseFieldBytes();
+          if ((c = nextToken()) != ':') {
+            throw reportError("testObjectBytes", "expected :, but " + c);
+          } else if (breakOut(context, fieldBytesFunction, offset, len)) {
+            return context;
+          }
+        } else if (c == '}') { // end of object
+          return context;
+        } else {
+          throw reportError("testObjectBytes", "expected \" after {");
+        }
+      } else if (c == '}') {
+        return context;
+      } else if (c == 'n') {
+        skip(3);
+        return context;
+      } else {
+        throw reportError("testObjectBytes", "expected [,{}n], but found: " + c);
+      }
+    }
+  }
+
+  /**
+   * @return the byte length of a field name which may be passed as is from offset, otherwise the one's complement of
+   * the char length returned by {@link #parse()}.  Iterators which pass field names as is also compute their
+   * {@link FieldHashTable#hash(byte[], int, int)}.
+   */
+  int parseFieldBytes() {
+    return ~parse();
+  }
+
+  abstract <C> boolean breakOut(final C context,
+                                final ContextFieldBytesPredicate<C> fieldBytesFunction,
+                                final int offset, final int len);
+
+  /**
+   * Encodes chars as UTF-8 into {@link #utf8Bytes}.
+   *
+   * @return the number of bytes.
+   */
+  private int encodeUtf8(final char[] chars, final int offset, final int len) {
+    if (utf8Bytes == null || utf8Bytes.length < len * 3) {
+      utf8Bytes = new byte[Math.max(64, len * 3)];
+    }
+    final byte[] bytes = utf8Bytes;
+    int j = 0;
+    for (int i = offset, end = offset + len, c; i < end; ++i) {
+      c = chars[i];
+      if (c < 0x80) {
+        bytes[j++] = (byte) c;
+      } else if (c < 0x800) {
+        bytes[j++] = (byte) (0xC0 | (c >> 6));
+        bytes[j++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isSurrogate((char) c)) {
+        if (Character.isHighSurrogate((char) c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+          final int cp = Character.toCodePoint((char) c, chars[++i]);
+          bytes[j++] = (byte) (0xF0 | (cp >> 18));
+          bytes[j++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+          bytes[j++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+          bytes[j++] = (byte) (0x80 | (cp & 0x3F));
+        } else {
+          bytes[j++] = '?';
+        }
+      } else {
+        bytes[j++] = (byte) (0xE0 | (c >> 12));
+        bytes[j++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        bytes[j++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    return j;
+  }
+
+  final <C> boolean breakOutEncoded(final C context,
+                                    final ContextFieldBytesPredicate<C> fieldBytesFunction,
+                                    final char[] chars, final int offset, final int len) {
+    final int numBytes = encodeUtf8(chars, offset, len);
+    return !fieldBytesFunction.test(context, utf8Bytes, 0, numBytes, this);
+  }
+
+  @Override
+  public final <C> C testObjectHashed(final C context, final ContextFieldHashPredicate<C> fieldHashFunction) {
+    char c;
+    long mask = 0;
+    for (int offset, len; ; ) {
+      if ((c = nextToken()) == ',') {
+        c = nextToken();
+        if (c != '"') {
+          throw reportError("testObjectHashed", "expected string field, but " + c);
+        }
+        offset = head;
+        len = parseFieldBytes();
+        if ((c = nextToken()) != ':') {
+          throw reportError("testObjectHashed", "expected :, but " + c);
+        } else if ((mask = test(context, mask, fieldHashFunction, offset, len)) == BREAK_OUT) {
+          return context;
+        }
+      } else if (c == '{') {
+        c = nextToken();
+        if (c == '"') {
+          offset = head;
+          len = parseFieldBytes();
+          if ((c = nextToken()) != ':') {
+            throw reportError("testObjectHashed", "expected :, but " + c);
+          } else if ((mask = test(context, mask, fieldHashFunction, offset, len)) == BREAK_OUT) {
+            return context;
+          }
+        } else if (c == '}') { // end of object
+          return context;
+        } else {
+          throw reportError("testObjectHashed", "expected \" after {");
+        }
+      } else if (c == '}') {
+        return context;
+      } else if (c == 'n') {
+        skip(3);
+        return context;
+      } else {
+        throw reportError("testObjectHashed", "expected [,{}n], but found: " + c);
+      }
+    }
+  }
+
+  abstract <C> long test(final C context,
+                         final long mask,
+                         final ContextFieldHashPredicate<C> fieldHashFunction,
+                         final int offset, final int len);
+
+  final <C> long testEncoded(final C context,
+                             final long mask,
+                             final ContextFieldHashPredicate<C> fieldHashFunction,
+                             final char[] chars, final int offset, final int len) {
+    final int numBytes = encodeUtf8(chars, offset, len);
+    final long hash = FieldHashTable.hash(utf8Bytes, 0, numBytes);
+    return fieldHashFunction.test(context, mask, hash, utf8Bytes, 0, numBytes, this);
+  }
+
   @Override
   public final <C> C testObject(final C context, final ContextFieldBufferMaskedPredicate<C> fieldBufferFunction) {
     char c;
@@ -917,7 +1110,9 @@ abstract class BaseJsonIterator implements JsonIterator {
   @Override
   public final double readDouble() {
     try {
-      return Double.parseDouble(readNumberOrNumberString());
+      return Double.longBitsToDouble(whatIsNext() == NUMBER
+          ? applyNumberCharsAsLong(DoubleParser.PARSE_DOUBLE_BITS)
+          : applyCharsAsLong(DoubleParser.PARSE_DOUBLE_BITS));
     } catch (final NumberFormatException e) {
       throw reportError("readDouble", e.toString());
     }
@@ -926,7 +1121,9 @@ abstract class BaseJsonIterator implements JsonIterator {
   @Override
   public final float readFloat() {
     try {
-      return Float.parseFloat(readNumberOrNumberString());
+      return Float.intBitsToFloat(whatIsNext() == NUMBER
+          ? applyNumberCharsAsInt(DoubleParser.PARSE_FLOAT_BITS)
+          : applyCharsAsInt(DoubleParser.PARSE_FLOAT_BITS));
     } catch (final NumberFormatException e) {
       throw reportError("readFloat", e.toString());
     }
@@ -997,26 +1194,31 @@ abstract class BaseJsonIterator implements JsonIterator {
   }
 
   private long readUnscaledDigits(final long integer, final int scale) {
-    final int mark = ++head;
-    long unscaled = readLongSlowPath(integer, scale);
-    if (head < tail) {
-      final char c = peekChar(head);
-      if (c == 'e' || c == 'E') {
-        ++head;
-        final int exponent = readInt();
-        if (exponent < 0) {
-          return reduceScale(unscaled, exponent);
-        } else if (supportsMarkReset()) {
-          final int mark2 = head;
-          head = mark;
-          unscaled = readLongSlowPath(integer, scale + exponent);
-          head = mark2;
-        } else {
-          throw reportError("readUnscaledAsLong", "Requires mark/reset.");
+    ++head;
+    final long mark = pin();
+    try {
+      long unscaled = readLongSlowPath(integer, scale);
+      if (head < tail || loadMore()) {
+        final char c = peekChar(head);
+        if (c == 'e' || c == 'E') {
+          ++head;
+          final int exponent = readInt();
+          if (exponent < 0) {
+            return reduceScale(unscaled, exponent);
+          } else if (supportsMarkReset()) {
+            final long mark2 = pin();
+            reset(mark);
+            unscaled = readLongSlowPath(integer, scale + exponent);
+            reset(mark2);
+          } else {
+            throw reportError("readUnscaledAsLong", "Requires mark/reset.");
+          }
         }
       }
+      return unscaled;
+    } finally {
+      unpin();
     }
-    return unscaled;
   }
 
   @Override
@@ -1104,7 +1306,7 @@ abstract class BaseJsonIterator implements JsonIterator {
   public final BigInteger readBigInteger() {
     final var valueType = whatIsNext();
     if (valueType == NUMBER) {
-      return new BigInteger(readNumberAsString());
+      return applyNumberChars(READ_BIG_INTEGER_FUNCTION);
     } else if (valueType == STRING) {
       return applyChars(READ_BIG_INTEGER_FUNCTION);
     } else if (valueType == NULL) {
@@ -1120,6 +1322,40 @@ abstract class BaseJsonIterator implements JsonIterator {
     return applyChars(InstantParser.INSTANT_PARSER);
   }
 
+  private long readDateTime(final String method,
+                            final CharBufferToLongFunction parser,
+                            final long unitsPerSecond,
+                            final int nanosPerUnit) {
+    final char c = nextToken();
+    if (c == '"') {
+      return parseDateTime(parser, unitsPerSecond, nanosPerUnit);
+    } else {
+      throw reportError(method, "expected string, but " + c);
+    }
+  }
+
+  /**
+   * Parses the string at head, iterators which can parse directly from their byte buffers override this.
+   */
+  long parseDateTime(final CharBufferToLongFunction parser, final long unitsPerSecond, final int nanosPerUnit) {
+    return parse(parser);
+  }
+
+  @Override
+  public final long readDateTimeEpochSeconds() {
+    return readDateTime("readDateTimeEpochSeconds", InstantParser.EPOCH_SECOND_PARSER, 1, 1_000_000_000);
+  }
+
+  @Override
+  public final long readDateTimeEpochMillis() {
+    return readDateTime("readDateTimeEpochMillis", InstantParser.EPOCH_MILLI_PARSER, 1_000, 1_000_000);
+  }
+
+  @Override
+  public final long readDateTimeEpochNanos() {
+    return readDateTime("readDateTimeEpochNanos", InstantParser.EPOCH_NANO_PARSER, 1_000_000_000, 1);
+  }
+
   @Override
   public String readNumberOrNumberString() {
     final var valueType = whatIsNext();
@@ -1159,7 +1395,7 @@ abstract class BaseJsonIterator implements JsonIterator {
     }
   }
 
-  private void skipArray() {
+  void skipArray() {
     char c;
     for (int i = head, level = 1; ; i++) {
       if (i == tail) {
@@ -1186,7 +1422,7 @@ abstract class BaseJsonIterator implements JsonIterator {
     }
   }
 
-  private void skipObject() {
+  void skipObject() {
     char c;
     for (int i = head, level = 1; ; i++) {
       if (i == tail) {
@@ -1215,7 +1451,11 @@ abstract class BaseJsonIterator implements JsonIterator {
 
   @Override
   public final JsonIterator skip() {
-    final char c = nextToken();
+    skipValue(nextToken());
+    return this;
+  }
+
+  final void skipValue(final char c) {
     switch (c) {
       case '"' -> skipPastEndQuote();
       case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> skipUntilBreak();
@@ -1225,7 +1465,41 @@ abstract class BaseJsonIterator implements JsonIterator {
       case '{' -> skipObject();
       default -> throw reportError("skip", "Cannot skip: " + c);
     }
-    return this;
+  }
+
+  private static final BytesFunction<byte[]> COPY_RAW_VALUE = Arrays::copyOfRange;
+
+  @Override
+  public final <R> R applyRawValue(final BytesFunction<R> rawValueFunction) {
+    return applyRaw(rawValueFunction, nextToken());
+  }
+
+  @Override
+  public final byte[] readRawValue() {
+    return applyRawValue(COPY_RAW_VALUE);
+  }
+
+  /**
+   * @param c the first char of the value, head is just past it.
+   */
+  abstract <R> R applyRaw(final BytesFunction<R> rawValueFunction, final char c);
+
+  final <R> R applyEncoded(final BytesFunction<R> rawValueFunction, final char[] chars, final int offset, final int len) {
+    final int numBytes = encodeUtf8(chars, offset, len);
+    return rawValueFunction.apply(utf8Bytes, 0, numBytes);
+  }
+
+  /**
+   * Ensures room for len more bytes after the {@link #capturedLen} bytes of a raw value captured before refills.
+   */
+  final byte[] growCapture(final int len) {
+    final int required = capturedLen + len;
+    if (captured == null) {
+      captured = new byte[Math.max(256, required)];
+    } else if (required > captured.length) {
+      captured = Arrays.copyOf(captured, Math.max(required, captured.length << 1));
+    }
+    return captured;
   }
 
   @Override
@@ -1498,6 +1772,151 @@ abstract class BaseJsonIterator implements JsonIterator {
     }
   }
 
+  /**
+   * @return '[' for a non-empty array, ']' for an empty array or 'n' for null.
+   */
+  private char openPrimitiveArray(final String op) {
+    final char c = nextToken();
+    if (c == '[') {
+      if (peekToken() == ']') {
+        head++;
+        return ']';
+      }
+      return '[';
+    } else if (c == 'n') {
+      skip(3); // null
+      return 'n';
+    } else {
+      throw reportError(op, "expected [ or n, but found: " + c);
+    }
+  }
+
+  private boolean continuePrimitiveArray(final String op) {
+    final char c = nextToken();
+    if (c == ',') {
+      return true;
+    } else if (c == ']') {
+      return false;
+    } else {
+      throw reportError(op, "expected , or ], but found: " + c);
+    }
+  }
+
+  private JsonException capacityExceeded(final String op, final int capacity) {
+    return reportError(op, "array has more elements than the capacity of " + capacity);
+  }
+
+  private void checkOffset(final String op, final int offset, final int length) {
+    if (offset < 0 || offset > length) {
+      throw reportError(op, "offset " + offset + " is out of bounds for an array of length " + length);
+    }
+  }
+
+  @Override
+  public final int[] readIntArray() {
+    final char c = openPrimitiveArray("readIntArray");
+    if (c == 'n') {
+      return null;
+    } else if (c == ']') {
+      return EMPTY_INT_ARRAY;
+    }
+    int[] array = new int[16];
+    int i = 0;
+    do {
+      if (i == array.length) {
+        array = Arrays.copyOf(array, i << 1);
+      }
+      array[i++] = readInt();
+    } while (continuePrimitiveArray("readIntArray"));
+    return i == array.length ? array : Arrays.copyOf(array, i);
+  }
+
+  @Override
+  public final int readIntArray(final int[] array, final int offset) {
+    checkOffset("readIntArray", offset, array.length);
+    if (openPrimitiveArray("readIntArray") != '[') {
+      return 0;
+    }
+    int i = offset;
+    do {
+      if (i == array.length) {
+        throw capacityExceeded("readIntArray", array.length - offset);
+      }
+      array[i++] = readInt();
+    } while (continuePrimitiveArray("readIntArray"));
+    return i - offset;
+  }
+
+  @Override
+  public final long[] readLongArray() {
+    final char c = openPrimitiveArray("readLongArray");
+    if (c == 'n') {
+      return null;
+    } else if (c == ']') {
+      return EMPTY_LONG_ARRAY;
+    }
+    long[] array = new long[16];
+    int i = 0;
+    do {
+      if (i == array.length) {
+        array = Arrays.copyOf(array, i << 1);
+      }
+      array[i++] = readLong();
+    } while (continuePrimitiveArray("readLongArray"));
+    return i == array.length ? array : Arrays.copyOf(array, i);
+  }
+
+  @Override
+  public final int readLongArray(final long[] array, final int offset) {
+    checkOffset("readLongArray", offset, array.length);
+    if (openPrimitiveArray("readLongArray") != '[') {
+      return 0;
+    }
+    int i = offset;
+    do {
+      if (i == array.length) {
+        throw capacityExceeded("readLongArray", array.length - offset);
+      }
+      array[i++] = readLong();
+    } while (continuePrimitiveArray("readLongArray"));
+    return i - offset;
+  }
+
+  @Override
+  public final double[] readDoubleArray() {
+    final char c = openPrimitiveArray("readDoubleArray");
+    if (c == 'n') {
+      return null;
+    } else if (c == ']') {
+      return EMPTY_DOUBLE_ARRAY;
+    }
+    double[] array = new double[16];
+    int i = 0;
+    do {
+      if (i == array.length) {
+        array = Arrays.copyOf(array, i << 1);
+      }
+      array[i++] = readDouble();
+    } while (continuePrimitiveArray("readDoubleArray"));
+    return i == array.length ? array : Arrays.copyOf(array, i);
+  }
+
+  @Override
+  public final int readDoubleArray(final double[] array, final int offset) {
+    checkOffset("readDoubleArray", offset, array.length);
+    if (openPrimitiveArray("readDoubleArray") != '[') {
+      return 0;
+    }
+    int i = offset;
+    do {
+      if (i == array.length) {
+        throw capacityExceeded("readDoubleArray", array.length - offset);
+      }
+      array[i++] = readDouble();
+    } while (continuePrimitiveArray("readDoubleArray"));
+    return i - offset;
+  }
+
   @Override
   public final String readNumberAsString() {
     return parsedNumberAsString(parseNumber());
@@ -0,0 +1,154 @@
+package systems.comodal.jsoniter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Builds {@link BigDecimal} and {@link BigInteger} values from an unscaled long for numbers with at most 18
+ * significant digits, falling back to the char based constructors for longer or malformed input.
+ */
+final class BigNumberParser {
+
+  private BigNumberParser() {
+  }
+
+  private static final int MAX_DIGITS = 18;
+
+  static final CharBufferFunction<BigDecimal> READ_BIG_DECIMAL_FUNCTION = (chars, offset, len) -> len == 0
+      ? null
+      : parseBigDecimal(chars, offset, len, false);
+
+  static final CharBufferFunction<BigDecimal> READ_BIG_DECIMAL_DROP_TRAILING_ZEROES_FUNCTION = (chars, offset, len) -> len == 0
+      ? null
+      : parseBigDecimal(chars, offset, len, true);
+
+  static final CharBufferFunction<BigInteger> READ_BIG_INTEGER_FUNCTION = BigNumberParser::parseBigInteger;
+
+  static BigDecimal dropTrailingZeroes(final char[] chars, final int offset, final int len) {
+    if (len == 1) {
+      return chars[offset] == '0'
+          ? BigDecimal.ZERO
+          : new BigDecimal(chars, offset, len);
+    }
+    int pos = (offset + len) - 1;
+    if (chars[pos] != '0') {
+      return new BigDecimal(chars, offset, len);
+    }
+    char c = chars[--pos];
+    while (c == '0') {
+      if (pos == offset) {
+        return BigDecimal.ZERO;
+      }
+      c = chars[--pos];
+    }
+    for (int j = pos; c != '.'; c = chars[--j]) {
+      if ((c == 'e') || (c == 'E')) {
+        return new BigDecimal(chars, offset, len).stripTrailingZeros();
+      } else if (j == offset) { // Not a decimal
+        return new BigDecimal(chars, offset, len);
+      }
+    }
+    return new BigDecimal(chars, offset, (pos + 1) - offset);
+  }
+
+  private static BigDecimal fallback(final char[] chars, final int offset, final int len, final boolean dropZeroes) {
+    return dropZeroes ? dropTrailingZeroes(chars, offset, len) : new BigDecimal(chars, offset, len);
+  }
+
+  static BigDecimal parseBigDecimal(final char[] chars, final int offset, final int len, final boolean dropZeroes) {
+    final int end = offset + len;
+    int i = offset;
+    final boolean negative = chars[i] == '-';
+    if (negative || chars[i] == '+') {
+      ++i;
+    }
+    long unscaled = 0;
+    int numDigits = 0;
+    int scale = 0;
+    boolean anyDigits = false;
+    char c;
+    for (; i < end && (c = chars[i]) >= '0' && c <= '9'; ++i) {
+      anyDigits = true;
+      if (unscaled != 0 || c != '0') {
+        if (++numDigits > MAX_DIGITS) {
+          return fallback(chars, offset, len, dropZeroes);
+        }
+        unscaled = unscaled * 10 + (c - '0');
+      }
+    }
+    if (i < end && chars[i] == '.') {
+      for (++i; i < end && (c = chars[i]) >= '0' && c <= '9'; ++i) {
+        anyDigits = true;
+        ++scale;
+        if (unscaled != 0 || c != '0') {
+          if (++numDigits > MAX_DIGITS) {
+            return fallback(chars, offset, len, dropZeroes);
+          }
+          unscaled = unscaled * 10 + (c - '0');
+        }
+      }
+    }
+    if (!anyDigits) {
+      return fallback(chars, offset, len, dropZeroes);
+    }
+    final boolean hasExponent = i < end && ((c = chars[i]) == 'e' || c == 'E');
+    if (hasExponent) {
+      if (++i == end) {
+        return fallback(chars, offset, len, dropZeroes);
+      }
+      final boolean negativeExponent = chars[i] == '-';
+      if (negativeExponent || chars[i] == '+') {
+        ++i;
+      }
+      final int from = i;
+      int exponent = 0;
+      for (; i < end && (c = chars[i]) >= '0' && c <= '9'; ++i) {
+        exponent = exponent * 10 + (c - '0');
+      }
+      if (i == from || i - from > 9) {
+        return fallback(chars, offset, len, dropZeroes);
+      }
+      scale += negativeExponent ? exponent : -exponent;
+    }
+    if (i != end) {
+      return fallback(chars, offset, len, dropZeroes);
+    }
+    if (negative) {
+      unscaled = -unscaled;
+    }
+    if (dropZeroes) {
+      if (hasExponent) {
+        final var decimal = BigDecimal.valueOf(unscaled, scale);
+        return chars[end - 1] == '0' ? decimal.stripTrailingZeros() : decimal;
+      } else if (unscaled == 0) {
+        return BigDecimal.ZERO;
+      }
+      for (; scale > 0 && unscaled % 10 == 0; --scale) {
+        unscaled /= 10;
+      }
+    }
+    return BigDecimal.valueOf(unscaled, scale);
+  }
+
+  static BigInteger parseBigInteger(final char[] chars, final int offset, final int len) {
+    final int end = offset + len;
+    int i = offset;
+    if (len > 1 && (chars[i] == '-' || chars[i] == '+')) {
+      ++i;
+    }
+    if (end - i <= MAX_DIGITS && i < end) {
+      long value = 0;
+      for (int j = i; ; ++j) {
+        if (j == end) {
+          return BigInteger.valueOf(chars[offset] == '-' ? -value : value);
+        }
+        final char c = chars[j];
+        if (c < '0' || c > '9') {
+          break;
+        }
+        value = value * 10 + (c - '0');
+      }
+    }
+    return new BigInteger(new String(chars, offset, len));
+  }
+}
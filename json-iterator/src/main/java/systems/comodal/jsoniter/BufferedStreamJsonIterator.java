@@ -3,11 +3,10 @@ package systems.comodal.jsoniter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.util.Base64;
 
-final class BufferedStreamJsonIterator extends BytesJsonIterator {
+class BufferedStreamJsonIterator extends BytesJsonIterator {
 
-  private InputStream in;
+  InputStream in;
 
   BufferedStreamJsonIterator(final InputStream in, final byte[] buf, final int head, final int tail) {
     super(buf, head, tail);
@@ -41,12 +40,12 @@ final class BufferedStreamJsonIterator extends BytesJsonIterator {
 
   @Override
   public JsonIterator reset(final byte[] buf) {
-    return new BytesJsonIterator(buf, 0, buf.length);
+    return keepStringCache(new BytesJsonIterator(buf, 0, buf.length));
   }
 
   @Override
   public JsonIterator reset(final byte[] buf, final int head, final int tail) {
-    return new BytesJsonIterator(buf, head, tail);
+    return keepStringCache(new BytesJsonIterator(buf, head, tail));
   }
 
   @Override
@@ -68,17 +67,55 @@ final class BufferedStreamJsonIterator extends BytesJsonIterator {
     return this;
   }
 
+  /**
+   * Field names are always decoded, as reading past the ':' may refill the buffer.
+   */
+  @Override
+  final int parseFieldBytes() {
+    return ~parse();
+  }
+
+  /**
+   * Only copies the bytes of values spanning refills, see {@link #loadMore()}.
+   */
+  @Override
+  <R> R applyRaw(final BytesFunction<R> rawValueFunction, final char c) {
+    captureFrom = head - 1;
+    capturedLen = 0;
+    skipValue(c);
+    final int from = captureFrom;
+    captureFrom = -1;
+    if (capturedLen == 0) {
+      return rawValueFunction.apply(buf, from, head);
+    }
+    final int len = head - from;
+    System.arraycopy(buf, from, growCapture(len), capturedLen, len);
+    return rawValueFunction.apply(captured, 0, capturedLen + len);
+  }
+
   @Override
   boolean loadMore() {
+    if (captureFrom >= 0) {
+      final int len = tail - captureFrom;
+      System.arraycopy(buf, captureFrom, growCapture(len), capturedLen, len);
+      capturedLen += len;
+    }
     try {
       final int n = in.read(buf);
       if (n < 1) {
         if (n == -1) {
+          if (captureFrom >= 0) {
+            // Nothing was read, so the buffered bytes which were just captured remain from tail to head.
+            captureFrom = tail;
+          }
           return false;
         } else {
           throw reportError("loadMore", "read from input stream returned " + n);
         }
       } else {
+        if (captureFrom >= 0) {
+          captureFrom = 0;
+        }
         head = 0;
         tail = n;
         return true;
@@ -96,9 +133,4 @@ final class BufferedStreamJsonIterator extends BytesJsonIterator {
       return buf[head++];
     }
   }
-
-  @Override
-  public byte[] decodeBase64String() {
-    return Base64.getDecoder().decode(readString());
-  }
 }
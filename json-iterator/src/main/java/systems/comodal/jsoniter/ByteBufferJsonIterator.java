@@ -0,0 +1,801 @@
+package systems.comodal.jsoniter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static systems.comodal.jsoniter.BytesJsonIterator.containsMultiByteOrEscapePattern;
+import static systems.comodal.jsoniter.BytesJsonIterator.matchQuotePattern;
+
+/**
+ * Reads directly from heap or direct {@link ByteBuffer}s using absolute indexes, the position and limit of the
+ * buffer are never modified and the backing storage is never copied.
+ */
+class ByteBufferJsonIterator extends BaseJsonIterator {
+
+  private static final VarHandle TO_LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  ByteBuffer buf;
+  private char[] charBuf;
+  private byte[] byteBuf;
+
+  ByteBufferJsonIterator(final ByteBuffer buf, final int head, final int tail) {
+    this(buf, head, tail, 64);
+  }
+
+  ByteBufferJsonIterator(final ByteBuffer buf, final int head, final int tail, final int charBufferLength) {
+    super(head, tail);
+    this.buf = buf;
+    this.charBuf = new char[charBufferLength];
+    this.byteBuf = new byte[charBufferLength];
+  }
+
+  @Override
+  public boolean supportsMarkReset() {
+    return true;
+  }
+
+  @Override
+  public JsonIterator reset(final ByteBuffer buf) {
+    this.buf = buf;
+    this.head = buf.position();
+    this.tail = buf.limit();
+    return this;
+  }
+
+  final JsonIterator reset(final ByteBuffer buf, final int head, final int tail) {
+    this.buf = buf;
+    this.head = head;
+    this.tail = tail;
+    return this;
+  }
+
+  @Override
+  public JsonIterator reset(final byte[] buf) {
+    return keepStringCache(new BytesJsonIterator(buf, 0, buf.length, charBuf.length));
+  }
+
+  @Override
+  public JsonIterator reset(final byte[] buf, final int head, final int tail) {
+    return keepStringCache(new BytesJsonIterator(buf, head, tail, charBuf.length));
+  }
+
+  @Override
+  public JsonIterator reset(final char[] buf) {
+    return reset(buf, 0, buf.length);
+  }
+
+  @Override
+  public JsonIterator reset(final char[] buf, final int head, final int tail) {
+    return keepStringCache(new CharsJsonIterator(buf, head, tail));
+  }
+
+  @Override
+  public JsonIterator reset(final InputStream in) {
+    return keepStringCache(JsonIterator.parse(in, buf.capacity()));
+  }
+
+  @Override
+  public JsonIterator reset(final InputStream in, final int bufSize) {
+    return keepStringCache(JsonIterator.parse(in, bufSize));
+  }
+
+  @Override
+  public void close() throws IOException {
+  }
+
+  @Override
+  final String getBufferString(final int from, final int to) {
+    final int len = Math.min(to, tail) - from;
+    final byte[] bytes = new byte[len];
+    buf.get(from, bytes, 0, len);
+    return new String(bytes);
+  }
+
+  @Override
+  final char nextToken() {
+    byte c;
+    for (int i = head; ; ) {
+      if (i == tail) {
+        if (loadMore()) {
+          i = head;
+        } else {
+          throw reportError("nextToken", "unexpected end");
+        }
+      }
+      c = buf.get(i++);
+      switch (c) {
+        case ' ':
+        case '\n':
+        case '\t':
+        case '\r':
+          continue;
+        default:
+          head = i;
+          return (char) (c & 0xff);
+      }
+    }
+  }
+
+  @Override
+  final char peekToken() {
+    byte c;
+    for (int i = head; ; i++) {
+      if (i == tail) {
+        if (loadMore()) {
+          i = head;
+        } else {
+          throw reportError("peekToken", "unexpected end");
+        }
+      }
+      c = buf.get(i);
+      switch (c) {
+        case ' ':
+        case '\n':
+        case '\t':
+        case '\r':
+          continue;
+        default:
+          head = i;
+          return (char) (c & 0xff);
+      }
+    }
+  }
+
+  byte read() {
+    return buf.get(head++);
+  }
+
+  @Override
+  final char readChar() {
+    return (char) (read() & 0xff);
+  }
+
+  @Override
+  final char peekChar() {
+    return (char) (buf.get(head) & 0xff);
+  }
+
+  @Override
+  final char peekChar(final int offset) {
+    return (char) (buf.get(offset) & 0xff);
+  }
+
+  @Override
+  final int peekIntDigitChar(final int offset) {
+    return INT_DIGITS[buf.get(offset)];
+  }
+
+  private void doubleReusableCharBuffer() {
+    final char[] newBuf = new char[charBuf.length << 1];
+    System.arraycopy(charBuf, 0, newBuf, 0, charBuf.length);
+    charBuf = newBuf;
+  }
+
+  final byte[] reusableByteBuffer(final int len) {
+    if (len > byteBuf.length) {
+      byteBuf = new byte[Math.max(len, byteBuf.length << 1)];
+    }
+    return byteBuf;
+  }
+
+  private int copyChars(final int from, final int to, final int j) {
+    final int end = j + (to - from);
+    while (end > charBuf.length) {
+      doubleReusableCharBuffer();
+    }
+    for (int i = from, k = j; i < to; ) {
+      charBuf[k++] = (char) buf.get(i++);
+    }
+    return end;
+  }
+
+  private int copyBytes(final int from, final int to, final int len) {
+    final int end = len + (to - from);
+    if (end > byteBuf.length) {
+      byteBuf = Arrays.copyOf(byteBuf, Math.max(end, byteBuf.length << 1));
+    }
+    buf.get(from, byteBuf, len, to - from);
+    return end;
+  }
+
+  @Override
+  final int parse() {
+    return parse(0, head);
+  }
+
+  /**
+   * Scans 8 bytes at a time, carrying single byte chars into the char buffer across {@link #loadMore()} calls.
+   *
+   * @param j number of chars already in the char buffer.
+   * @param i scan offset, bytes from head to i are known to be single byte chars.
+   */
+  private int parse(int j, int i) {
+    for (long word, tmp; ; i = head) {
+      for (; i + Long.BYTES <= tail; i += Long.BYTES) {
+        word = (long) TO_LONG.get(buf, i);
+        if (containsMultiByteOrEscapePattern(word)) {
+          break;
+        }
+        tmp = matchQuotePattern(word);
+        if (tmp != 0) {
+          final int quote = i + (Long.numberOfTrailingZeros(tmp) >>> 3);
+          j = copyChars(head, quote, j);
+          head = quote + 1;
+          return j;
+        }
+      }
+      for (byte c; i < tail; ++i) {
+        c = buf.get(i);
+        if (c == '"') {
+          j = copyChars(head, i, j);
+          head = i + 1;
+          return j;
+        } else if ((c ^ '\\') < 1) {
+          j = copyChars(head, i, j);
+          head = i;
+          return parseMultiByteString(j);
+        }
+      }
+      j = copyChars(head, tail, j);
+      head = tail;
+      if (!loadMore()) {
+        throw reportError("parse", "incomplete string");
+      }
+    }
+  }
+
+  final void skipPastSingleByteEndQuote() {
+    for (byte c; head < tail || loadMore(); head++) {
+      c = buf.get(head);
+      if (c == '"') {
+        head++;
+        return;
+      } else if ((c ^ '\\') < 1) {
+        skipPastMultiByteEndQuote();
+        return;
+      }
+    }
+    throw reportError("skipPastSingleByteEndQuote", "incomplete string");
+  }
+
+  @Override
+  final void skipPastEndQuote() {
+    int nextOffset = head + Long.BYTES;
+    if (nextOffset > tail) {
+      skipPastSingleByteEndQuote();
+    } else {
+      for (long word, tmp; ; ) {
+        word = (long) TO_LONG.get(buf, head);
+        if (containsMultiByteOrEscapePattern(word)) {
+          skipPastMultiByteEndQuote();
+          return;
+        } else {
+          tmp = matchQuotePattern(word);
+          if (tmp != 0) {
+            head += (Long.numberOfTrailingZeros(tmp << 1) >>> 3);
+            return;
+          } else {
+            head = nextOffset;
+            nextOffset += Long.BYTES;
+            if (nextOffset > tail) {
+              if (head < tail) {
+                head = tail - Long.BYTES;
+              } else if (loadMore()) {
+                nextOffset = head + Long.BYTES;
+                if (nextOffset > tail) {
+                  skipPastSingleByteEndQuote();
+                  return;
+                }
+              } else {
+                throw reportError("skipPastEndQuote", "incomplete string");
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public byte[] decodeBase64String() {
+    final char c = nextToken();
+    if (c == '"') {
+      return parseBase64String();
+    } else if (c == 'n') {
+      skip(3);
+      return null;
+    } else {
+      throw reportError("decodeBase64String", "expected string or null, but " + c);
+    }
+  }
+
+  /**
+   * Scans 8 bytes at a time for the end quote, carrying encoded bytes across {@link #loadMore()} calls.
+   */
+  final byte[] parseBase64String() {
+    for (int i = head, len = 0; ; i = head) {
+      for (long tmp; i + Long.BYTES <= tail; i += Long.BYTES) {
+        tmp = matchQuotePattern((long) TO_LONG.get(buf, i));
+        if (tmp != 0) {
+          return decodeBase64String(len, i + (Long.numberOfTrailingZeros(tmp) >>> 3));
+        }
+      }
+      for (; i < tail; ++i) {
+        if (buf.get(i) == '"') {
+          return decodeBase64String(len, i);
+        }
+      }
+      len = copyBytes(head, tail, len);
+      head = tail;
+      if (!loadMore()) {
+        throw reportError("decodeBase64String", "incomplete string");
+      }
+    }
+  }
+
+  private byte[] decodeBase64String(final int len, final int quote) {
+    final int end = copyBytes(head, quote, len);
+    head = quote + 1;
+    return Base64.getDecoder().decode(Arrays.copyOf(byteBuf, end));
+  }
+
+  @Override
+  protected final String parseString() {
+    int i = head;
+    for (long word, tmp; i + Long.BYTES <= tail; i += Long.BYTES) {
+      word = (long) TO_LONG.get(buf, i);
+      if (containsMultiByteOrEscapePattern(word)) {
+        break;
+      }
+      tmp = matchQuotePattern(word);
+      if (tmp != 0) {
+        final int quote = i + (Long.numberOfTrailingZeros(tmp) >>> 3);
+        final int len = quote - head;
+        final byte[] bytes = reusableByteBuffer(len);
+        buf.get(head, bytes, 0, len);
+        head = quote + 1;
+        return stringCache == null
+            ? new String(bytes, 0, len, StandardCharsets.US_ASCII)
+            : stringCache.ascii(bytes, 0, len);
+      }
+    }
+    final int len = parse(0, i);
+    return stringCache == null ? new String(charBuf, 0, len) : stringCache.apply(charBuf, 0, len);
+  }
+
+  @Override
+  final long parseDateTime(final CharBufferToLongFunction parser, final long unitsPerSecond, final int nanosPerUnit) {
+    for (int i = head; i < tail; ++i) {
+      final byte c = buf.get(i);
+      if (c == '"') {
+        final int from = head;
+        final int len = i - from;
+        head = i + 1;
+        if (buf.hasArray()) {
+          return InstantParser.parseEpoch(buf.array(), buf.arrayOffset() + from, len, unitsPerSecond, nanosPerUnit);
+        }
+        final byte[] bytes = reusableByteBuffer(len);
+        buf.get(from, bytes, 0, len);
+        return InstantParser.parseEpoch(bytes, 0, len, unitsPerSecond, nanosPerUnit);
+      } else if ((c ^ '\\') < 1) {
+        break;
+      }
+    }
+    return parse(parser);
+  }
+
+  @Override
+  final <R> R parse(final CharBufferFunction<R> applyChars) {
+    final int len = parse();
+    return applyChars.apply(charBuf, 0, len);
+  }
+
+  @Override
+  final <C, R> R parse(final C context, final ContextCharBufferFunction<C, R> applyChars) {
+    final int len = parse();
+    return applyChars.apply(context, charBuf, 0, len);
+  }
+
+  @Override
+  final int parse(final CharBufferToIntFunction applyChars) {
+    final int len = parse();
+    return applyChars.applyAsInt(charBuf, 0, len);
+  }
+
+  @Override
+  final <C> int parse(final C context, final ContextCharBufferToIntFunction<C> applyChars) {
+    final int len = parse();
+    return applyChars.applyAsInt(context, charBuf, 0, len);
+  }
+
+  @Override
+  final long parse(final CharBufferToLongFunction applyChars) {
+    final int len = parse();
+    return applyChars.applyAsLong(charBuf, 0, len);
+  }
+
+  @Override
+  final <C> long parse(final C context, final ContextCharBufferToLongFunction<C> applyChars) {
+    final int len = parse();
+    return applyChars.applyAsLong(context, charBuf, 0, len);
+  }
+
+  @Override
+  final boolean parse(final CharBufferPredicate testChars) {
+    final int len = parse();
+    return testChars.apply(charBuf, 0, len);
+  }
+
+  @Override
+  final <C> boolean parse(final C context, final ContextCharBufferPredicate<C> testChars) {
+    final int len = parse();
+    return testChars.apply(context, charBuf, 0, len);
+  }
+
+  @Override
+  final void parse(final CharBufferConsumer testChars) {
+    final int len = parse();
+    testChars.accept(charBuf, 0, len);
+  }
+
+  @Override
+  final <C> void parse(final C context, final ContextCharBufferConsumer<C> testChars) {
+    final int len = parse();
+    testChars.accept(context, charBuf, 0, len);
+  }
+
+  @Override
+  final boolean fieldEquals(final String field, final int offset, final int len) {
+    return JsonIterator.fieldEquals(field, charBuf, 0, len);
+  }
+
+  @Override
+  final boolean breakOut(final FieldBufferPredicate fieldBufferFunction, final int offset, final int len) {
+    return !fieldBufferFunction.test(charBuf, 0, len, this);
+  }
+
+  @Override
+  final <C> boolean breakOut(final C context, final ContextFieldBufferPredicate<C> fieldBufferFunction, final int offset, final int len) {
+    return !fieldBufferFunction.test(context, charBuf, 0, len, this);
+  }
+
+  @Override
+  <R> R applyRaw(final BytesFunction<R> rawValueFunction, final char c) {
+    final int from = head - 1;
+    skipValue(c);
+    return applyBytes(rawValueFunction, from, head);
+  }
+
+  /**
+   * Passes heap buffers directly, otherwise copies the bytes.
+   */
+  final <R> R applyBytes(final BytesFunction<R> rawValueFunction, final int from, final int to) {
+    if (buf.hasArray()) {
+      final int offset = buf.arrayOffset();
+      return rawValueFunction.apply(buf.array(), offset + from, offset + to);
+    }
+    final int len = to - from;
+    final byte[] bytes = reusableByteBuffer(len);
+    buf.get(from, bytes, 0, len);
+    return rawValueFunction.apply(bytes, 0, len);
+  }
+
+  @Override
+  final <C> boolean breakOut(final C context, final ContextFieldBytesPredicate<C> fieldBytesFunction, final int offset, final int len) {
+    return breakOutEncoded(context, fieldBytesFunction, charBuf, 0, ~len);
+  }
+
+  @Override
+  final <C> long test(final C context, final long mask, final ContextFieldHashPredicate<C> fieldHashFunction, final int offset, final int len) {
+    return testEncoded(context, mask, fieldHashFunction, charBuf, 0, ~len);
+  }
+
+  @Override
+  final <C> long test(final C context, final long mask, final ContextFieldBufferMaskedPredicate<C> fieldBufferFunction, final int offset, final int len) {
+    return fieldBufferFunction.test(context, mask, charBuf, 0, len, this);
+  }
+
+  @Override
+  final <R> R apply(final FieldBufferFunction<R> fieldBufferFunction, final int offset, final int len) {
+    return fieldBufferFunction.apply(charBuf, 0, len, this);
+  }
+
+  @Override
+  final <C, R> R apply(final C context, final ContextFieldBufferFunction<C, R> fieldBufferFunction, final int offset, final int len) {
+    return fieldBufferFunction.apply(context, charBuf, 0, len, this);
+  }
+
+  @Override
+  final BigDecimal parseBigDecimal(final CharBufferFunction<BigDecimal> parseChars) {
+    return parseChars.apply(charBuf, 0, parseNumber());
+  }
+
+  private int parseMultiByteString(int j) {
+    boolean isExpectingLowSurrogate = false;
+    for (int bc; head < tail || loadMore(); ) {
+      bc = buf.get(head++);
+      if (bc == '"') {
+        return j;
+      } else if (bc == '\\') {
+        if (head == tail && !loadMore()) {
+          break;
+        }
+        bc = buf.get(head++);
+        switch (bc) {
+          case 'b':
+            bc = '\b';
+            break;
+          case 't':
+            bc = '\t';
+            break;
+          case 'n':
+            bc = '\n';
+            break;
+          case 'f':
+            bc = '\f';
+            break;
+          case 'r':
+            bc = '\r';
+            break;
+          case '"':
+          case '/':
+          case '\\':
+            break;
+          case 'u':
+            if (head == tail && !loadMore()) {
+              throw reportError("parseMultiByteString", "incomplete string");
+            }
+            bc = (JHex.decode(buf.get(head++)) << 12);
+            if (head == tail && !loadMore()) {
+              throw reportError("parseMultiByteString", "incomplete string");
+            }
+            bc += (JHex.decode(buf.get(head++)) << 8);
+            if (head == tail && !loadMore()) {
+              throw reportError("parseMultiByteString", "incomplete string");
+            }
+            bc += (JHex.decode(buf.get(head++)) << 4);
+            if (head == tail && !loadMore()) {
+              throw reportError("parseMultiByteString", "incomplete string");
+            }
+            bc += JHex.decode(buf.get(head++));
+            if (isExpectingLowSurrogate) {
+              if (Character.isLowSurrogate((char) bc)) {
+                isExpectingLowSurrogate = false;
+              } else {
+                throw new JsonException("invalid surrogate");
+              }
+            } else if (Character.isHighSurrogate((char) bc)) {
+              isExpectingLowSurrogate = true;
+            } else if (Character.isLowSurrogate((char) bc)) {
+              throw new JsonException("invalid surrogate");
+            }
+            break;
+          default:
+            throw reportError("parseMultiByteString", "invalid escape character: " + bc);
+        }
+      } else if ((bc & 0x80) != 0) {
+        if (head == tail && !loadMore()) {
+          break;
+        }
+        final int u2 = buf.get(head++);
+        if ((bc & 0xE0) == 0xC0) {
+          bc = ((bc & 0x1F) << 6) + (u2 & 0x3F);
+        } else {
+          if (head == tail && !loadMore()) {
+            break;
+          }
+          final int u3 = buf.get(head++);
+          if ((bc & 0xF0) == 0xE0) {
+            bc = ((bc & 0x0F) << 12) + ((u2 & 0x3F) << 6) + (u3 & 0x3F);
+          } else {
+            if (head == tail && !loadMore()) {
+              break;
+            }
+            final int u4 = buf.get(head++);
+            if ((bc & 0xF8) == 0xF0) {
+              bc = ((bc & 0x07) << 18) + ((u2 & 0x3F) << 12) + ((u3 & 0x3F) << 6) + (u4 & 0x3F);
+            } else {
+              throw reportError("parseMultiByteString", "invalid unicode character");
+            }
+            if (bc >= 0x10000) {
+              // check if valid unicode
+              if (bc >= 0x110000) {
+                throw reportError("parseMultiByteString", "invalid unicode character");
+              }
+              // split surrogates
+              final int sup = bc - 0x10000;
+              if (charBuf.length == j) {
+                doubleReusableCharBuffer();
+              }
+              charBuf[j++] = (char) ((sup >>> 10) + 0xd800);
+              if (charBuf.length == j) {
+                doubleReusableCharBuffer();
+              }
+              charBuf[j++] = (char) ((sup & 0x3ff) + 0xdc00);
+              continue;
+            }
+          }
+        }
+      }
+      if (charBuf.length == j) {
+        doubleReusableCharBuffer();
+      }
+      charBuf[j++] = (char) bc;
+    }
+    throw reportError("parseMultiByteString", "incomplete string");
+  }
+
+  private void skipPastMultiByteEndQuote() {
+    boolean isExpectingLowSurrogate = false;
+    for (int bc; head < tail || loadMore(); ) {
+      bc = buf.get(head++);
+      if (bc == '"') {
+        return;
+      } else if (bc == '\\') {
+        if (head == tail && !loadMore()) {
+          break;
+        }
+        bc = buf.get(head++);
+        switch (bc) {
+          case 'b':
+          case 't':
+          case 'n':
+          case 'f':
+          case 'r':
+          case '"':
+          case '/':
+          case '\\':
+            break;
+          case 'u':
+            if (head == tail && !loadMore()) {
+              throw reportError("skipPastMultiByteEndQuote", "incomplete string");
+            }
+            bc = (JHex.decode(buf.get(head++)) << 12);
+            if (head == tail && !loadMore()) {
+              throw reportError("skipPastMultiByteEndQuote", "incomplete string");
+            }
+            bc += (JHex.decode(buf.get(head++)) << 8);
+            if (head == tail && !loadMore()) {
+              throw reportError("skipPastMultiByteEndQuote", "incomplete string");
+            }
+            bc += (JHex.decode(buf.get(head++)) << 4);
+            if (head == tail && !loadMore()) {
+              throw reportError("skipPastMultiByteEndQuote", "incomplete string");
+            }
+            bc += JHex.decode(buf.get(head++));
+            if (isExpectingLowSurrogate) {
+              if (Character.isLowSurrogate((char) bc)) {
+                isExpectingLowSurrogate = false;
+              } else {
+                throw new JsonException("invalid surrogate");
+              }
+            } else if (Character.isHighSurrogate((char) bc)) {
+              isExpectingLowSurrogate = true;
+            } else if (Character.isLowSurrogate((char) bc)) {
+              throw new JsonException("invalid surrogate");
+            }
+            break;
+          default:
+            throw reportError("skipPastMultiByteEndQuote", "invalid escape character: " + bc);
+        }
+      } else if ((bc & 0x80) != 0) {
+        if (head == tail && !loadMore()) {
+          break;
+        }
+        final int u2 = buf.get(head++);
+        if ((bc & 0xE0) != 0xC0) {
+          if (head == tail && !loadMore()) {
+            break;
+          }
+          final int u3 = buf.get(head++);
+          if ((bc & 0xF0) != 0xE0) {
+            if (head == tail && !loadMore()) {
+              break;
+            }
+            final int u4 = buf.get(head++);
+            if ((bc & 0xF8) == 0xF0) {
+              bc = ((bc & 0x07) << 18) + ((u2 & 0x3F) << 12) + ((u3 & 0x3F) << 6) + (u4 & 0x3F);
+            } else {
+              throw reportError("skipPastMultiByteEndQuote", "invalid unicode character");
+            }
+            if (bc >= 0x10000) {
+              // check if valid unicode
+              if (bc >= 0x110000) {
+                throw reportError("skipPastMultiByteEndQuote", "invalid unicode character");
+              }
+            }
+          }
+        }
+      }
+    }
+    throw reportError("skipPastMultiByteEndQuote", "incomplete string");
+  }
+
+  @Override
+  final String parsedNumberAsString(final int len) {
+    return new String(charBuf, 0, len);
+  }
+
+  @Override
+  final <R> R parseNumber(final CharBufferFunction<R> applyChars, final int len) {
+    return applyChars.apply(charBuf, 0, len);
+  }
+
+  @Override
+  final <C, R> R parseNumber(final C context,
+                             final ContextCharBufferFunction<C, R> applyChars,
+                             final int len) {
+    return applyChars.apply(context, charBuf, 0, len);
+  }
+
+  @Override
+  final int parseNumber(final CharBufferToIntFunction applyChars, final int len) {
+    return applyChars.applyAsInt(charBuf, 0, len);
+  }
+
+  @Override
+  final <C> int parseNumber(final C context, final ContextCharBufferToIntFunction<C> applyChars, final int len) {
+    return applyChars.applyAsInt(context, charBuf, 0, len);
+  }
+
+  @Override
+  final long parseNumber(final CharBufferToLongFunction applyChars, final int len) {
+    return applyChars.applyAsLong(charBuf, 0, len);
+  }
+
+  @Override
+  final <C> long parseNumber(final C context, final ContextCharBufferToLongFunction<C> applyChars, final int len) {
+    return applyChars.applyAsLong(context, charBuf, 0, len);
+  }
+
+  @Override
+  final int parseNumber() {
+    char c;
+    for (int i = head, len = 0; ; i++) {
+      if (i == tail) {
+        if (loadMore()) {
+          i = head;
+        } else {
+          head = tail;
+          return len;
+        }
+      }
+      if (len == charBuf.length) {
+        doubleReusableCharBuffer();
+      }
+      switch ((c = peekChar(i))) {
+        case ' ':
+          continue;
+        case '.':
+        case 'e':
+        case 'E':
+          // dot found
+        case '-':
+        case '+':
+        case '0':
+        case '1':
+        case '2':
+        case '3':
+        case '4':
+        case '5':
+        case '6':
+        case '7':
+        case '8':
+        case '9':
+          charBuf[len++] = c;
+          continue;
+        default:
+          head = i;
+          return len;
+      }
+    }
+  }
+}
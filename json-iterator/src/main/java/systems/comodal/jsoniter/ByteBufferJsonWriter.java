@@ -0,0 +1,31 @@
+package systems.comodal.jsoniter;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+final class ByteBufferJsonWriter extends BytesJsonWriter {
+
+  private final ByteBuffer out;
+
+  ByteBufferJsonWriter(final ByteBuffer out, final byte[] buf) {
+    super(buf);
+    this.out = out;
+  }
+
+  /**
+   * @throws java.nio.BufferOverflowException if the ByteBuffer has insufficient space remaining.
+   */
+  @Override
+  void drain(final int len) {
+    flush();
+    if (len > buf.length) {
+      buf = Arrays.copyOf(buf, len);
+    }
+  }
+
+  @Override
+  public void flush() {
+    out.put(buf, 0, pos);
+    pos = 0;
+  }
+}
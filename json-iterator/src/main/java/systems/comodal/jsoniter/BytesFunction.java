@@ -0,0 +1,7 @@
+package systems.comodal.jsoniter;
+
+@FunctionalInterface
+public interface BytesFunction<R> {
+
+  R apply(final byte[] buf, final int from, final int to);
+}
@@ -0,0 +1,219 @@
+package systems.comodal.jsoniter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static systems.comodal.jsoniter.BytesJsonIterator.matchPattern;
+
+final class BytesJsonFeedParser implements JsonFeedParser {
+
+  private static final VarHandle TO_LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final long QUOTE_PATTERN = JIUtil.compileReplacePattern((byte) '"');
+  private static final long ESCAPE_PATTERN = JIUtil.compileReplacePattern((byte) '\\');
+
+  private final Consumer<JsonIterator> valueConsumer;
+  private final boolean arrayElements;
+  private final BytesJsonIterator ji;
+  private byte[] buf;
+  private int tail;
+  // Scan state, persisted across chunks.
+  private int valueStart = -1;
+  private int depth;
+  private boolean inString;
+  private boolean escaped;
+  private boolean inLiteral;
+  private boolean inArray;
+  private boolean expectComma;
+  private boolean expectElement;
+
+  BytesJsonFeedParser(final Consumer<JsonIterator> valueConsumer,
+                      final boolean arrayElements,
+                      final int bufSize,
+                      final int charBufferLength) {
+    this.valueConsumer = valueConsumer;
+    this.arrayElements = arrayElements;
+    this.buf = new byte[bufSize];
+    this.ji = new BytesJsonIterator(buf, 0, 0, charBufferLength);
+  }
+
+  private void ensureCapacity(final int len) {
+    final int required = tail + len;
+    if (required > buf.length) {
+      buf = Arrays.copyOf(buf, Math.max(buf.length << 1, required));
+    }
+  }
+
+  @Override
+  public void feed(final byte[] chunk, final int offset, final int len) {
+    ensureCapacity(len);
+    System.arraycopy(chunk, offset, buf, tail, len);
+    scan(len);
+  }
+
+  @Override
+  public void feed(final ByteBuffer chunk) {
+    final int len = chunk.remaining();
+    ensureCapacity(len);
+    chunk.get(buf, tail, len);
+    scan(len);
+  }
+
+  private static boolean isWhitespace(final byte c) {
+    return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+  }
+
+  /**
+   * @return the index of the first quote or backslash, or to if there is none.
+   */
+  private static int indexOfQuoteOrEscape(final byte[] buf, int i, final int to) {
+    if (BytesJsonIterator.VECTORIZED) {
+      i = VectorScanner.indexOfQuoteOrEscape(buf, i, to);
+    }
+    for (long word, tmp; i + Long.BYTES <= to; i += Long.BYTES) {
+      word = (long) TO_LONG.get(buf, i);
+      tmp = matchPattern(word ^ QUOTE_PATTERN) | matchPattern(word ^ ESCAPE_PATTERN);
+      if (tmp != 0) {
+        return i + (Long.numberOfTrailingZeros(tmp) >>> 3);
+      }
+    }
+    for (byte c; i < to; ++i) {
+      c = buf[i];
+      if (c == '"' || c == '\\') {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  private void emit(final int to) {
+    valueConsumer.accept(ji.reset(buf, valueStart, to));
+    valueStart = -1;
+    expectComma = inArray;
+  }
+
+  private void scan(final int len) {
+    final int to = tail + len;
+    for (int i = tail; i < to; ++i) {
+      if (inString) {
+        if (escaped) {
+          escaped = false;
+          continue;
+        }
+        i = indexOfQuoteOrEscape(buf, i, to);
+        if (i == to) {
+          break;
+        } else if (buf[i] == '\\') {
+          escaped = true;
+        } else {
+          inString = false;
+          if (depth == 0) {
+            emit(i + 1);
+          }
+        }
+        continue;
+      }
+      final byte c = buf[i];
+      if (valueStart < 0) {
+        if (isWhitespace(c)) {
+          continue;
+        }
+        if (arrayElements) {
+          if (!inArray) {
+            if (c != '[') {
+              throw new JsonException("feed: expected '[' but found: " + (char) c);
+            }
+            inArray = true;
+            continue;
+          } else if (c == ']') {
+            if (expectElement) {
+              throw new JsonException("feed: expected an element after ',' but found: ]");
+            }
+            inArray = false;
+            expectComma = false;
+            continue;
+          } else if (expectComma) {
+            if (c != ',') {
+              throw new JsonException("feed: expected ',' or ']' but found: " + (char) c);
+            }
+            expectComma = false;
+            expectElement = true;
+            continue;
+          }
+          expectElement = false;
+        }
+        valueStart = i;
+        switch (c) {
+          case '"' -> inString = true;
+          case '{', '[' -> depth = 1;
+          case ',', ']', '}', ':' -> throw new JsonException("feed: unexpected character: " + (char) c);
+          default -> inLiteral = true;
+        }
+      } else if (inLiteral) {
+        switch (c) {
+          case ' ', '\n', '\r', '\t', ',', ']', '}', '[', '{', '"' -> {
+            inLiteral = false;
+            emit(i);
+            --i; // re-process the delimiter
+          }
+          default -> {
+          }
+        }
+      } else {
+        switch (c) {
+          case '"' -> inString = true;
+          case '{', '[' -> ++depth;
+          case '}', ']' -> {
+            if (--depth == 0) {
+              emit(i + 1);
+            }
+          }
+          default -> {
+          }
+        }
+      }
+    }
+    compact(to);
+  }
+
+  private void compact(final int to) {
+    if (valueStart < 0) {
+      tail = 0;
+    } else if (valueStart == 0) {
+      tail = to;
+    } else {
+      final int len = to - valueStart;
+      System.arraycopy(buf, valueStart, buf, 0, len);
+      valueStart = 0;
+      tail = len;
+    }
+  }
+
+  @Override
+  public void endOfInput() {
+    try {
+      if (inLiteral) {
+        inLiteral = false;
+        emit(tail);
+      } else if (valueStart >= 0) {
+        throw new JsonException("endOfInput: incomplete value: " + new String(buf, valueStart, tail - valueStart));
+      }
+      if (inArray) {
+        throw new JsonException("endOfInput: top level array was not closed");
+      }
+    } finally {
+      valueStart = -1;
+      tail = 0;
+      depth = 0;
+      inString = false;
+      escaped = false;
+      inLiteral = false;
+      inArray = false;
+      expectComma = false;
+      expectElement = false;
+    }
+  }
+}
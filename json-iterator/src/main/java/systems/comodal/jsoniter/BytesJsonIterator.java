@@ -6,6 +6,7 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.math.BigDecimal;
 import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Base64;
@@ -17,8 +18,17 @@ class BytesJsonIterator extends BaseJsonIterator {
   private static final long ESCAPE_PATTERN = JIUtil.compileReplacePattern((byte) ('\\' & 0xFF));
   private static final long MULTI_BYTE_CHAR_PATTERN = JIUtil.compileReplacePattern((byte) 0b1000_0000);
 
+  /**
+   * Scan with {@link VectorScanner} if the jdk.incubator.vector module has been added, e.g.
+   * {@code --add-modules jdk.incubator.vector}, otherwise only use SWAR.
+   */
+  static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+      && VectorScanner.isSupported();
+
   byte[] buf;
   private char[] charBuf;
+  private long fieldHash;
+  private byte[] byteBuf;
 
   BytesJsonIterator(final byte[] buf, final int head, final int tail) {
     this(buf, head, tail, 64);
@@ -30,22 +40,22 @@ class BytesJsonIterator extends BaseJsonIterator {
     this.charBuf = new char[charBufferLength];
   }
 
-  private static long matchPattern(final long input) {
+  static long matchPattern(final long input) {
     // https://richardstartin.github.io/posts/finding-bytes
     // Hacker's Delight ch. 6: https://books.google.com/books?id=VicPJYM0I5QC&lpg=PP1&pg=PA117#v=onepage&q&f=false
     return ~(((input & 0x7F7F7F7F7F7F7F7FL) + 0x7F7F7F7F7F7F7F7FL) | input | 0x7F7F7F7F7F7F7F7FL);
   }
 
-  private static boolean containsPattern(final long input) {
+  static boolean containsPattern(final long input) {
     return matchPattern(input) != 0;
   }
 
-  private static long matchQuotePattern(final long word) {
+  static long matchQuotePattern(final long word) {
     return matchPattern(word ^ BytesJsonIterator.QUOTE_PATTERN);
   }
 
-  private static boolean containsMultiByteOrEscapePattern(final long word) {
-    return containsPattern(word ^ MULTI_BYTE_CHAR_PATTERN) || containsPattern(word ^ ESCAPE_PATTERN);
+  static boolean containsMultiByteOrEscapePattern(final long word) {
+    return (word & MULTI_BYTE_CHAR_PATTERN) != 0 || containsPattern(word ^ ESCAPE_PATTERN);
   }
 
   @Override
@@ -76,17 +86,22 @@ class BytesJsonIterator extends BaseJsonIterator {
 
   @Override
   public JsonIterator reset(final char[] buf, final int head, final int tail) {
-    return new CharsJsonIterator(buf, head, tail);
+    return keepStringCache(new CharsJsonIterator(buf, head, tail));
   }
 
   @Override
   public JsonIterator reset(final InputStream in) {
-    return new BufferedStreamJsonIterator(in, buf, 0, 0);
+    return keepStringCache(new BufferedStreamJsonIterator(in, buf, 0, 0));
   }
 
   @Override
   public JsonIterator reset(final InputStream in, final int bufSize) {
-    return new BufferedStreamJsonIterator(in, buf.length == bufSize ? buf : new byte[bufSize], 0, 0);
+    return keepStringCache(new BufferedStreamJsonIterator(in, buf.length == bufSize ? buf : new byte[bufSize], 0, 0));
+  }
+
+  @Override
+  public JsonIterator reset(final ReadableByteChannel channel) {
+    return keepStringCache(JsonIterator.parse(channel, buf.length));
   }
 
   @Override
@@ -115,6 +130,9 @@ class BytesJsonIterator extends BaseJsonIterator {
         case '\n':
         case '\t':
         case '\r':
+          if (VECTORIZED) {
+            i = VectorScanner.indexOfNonWhitespace(buf, i, tail);
+          }
           continue;
         default:
           head = i;
@@ -178,29 +196,79 @@ class BytesJsonIterator extends BaseJsonIterator {
     charBuf = newBuf;
   }
 
+  private int copyChars(final int from, final int to, final int j) {
+    final int end = j + (to - from);
+    while (end > charBuf.length) {
+      doubleReusableCharBuffer();
+    }
+    for (int i = from, k = j; i < to; ) {
+      charBuf[k++] = (char) buf[i++];
+    }
+    return end;
+  }
+
+  private int copyBytes(final int from, final int to, final int len) {
+    final int end = len + (to - from);
+    if (byteBuf == null) {
+      byteBuf = new byte[Math.max(end, charBuf.length)];
+    } else if (end > byteBuf.length) {
+      byteBuf = Arrays.copyOf(byteBuf, Math.max(end, byteBuf.length << 1));
+    }
+    System.arraycopy(buf, from, byteBuf, len, to - from);
+    return end;
+  }
+
   @Override
   final int parse() {
-    byte c;
-    for (int j = 0; head < tail || loadMore(); ) {
-      c = buf[head];
-      if (c == '"') {
-        head++;
-        return j;
-      } else if ((c ^ '\\') < 1) {
-        // If a backslash is encountered, which is a beginning of an escape sequence
-        // or a high bit was set - indicating an UTF-8 encoded multi-byte character,
-        // there is no chance that we can decode the string without instantiating
-        // a temporary buffer, so quit this loop.
-        return parseMultiByteString(j);
-      } else {
-        head++;
-        if (j == charBuf.length) {
-          doubleReusableCharBuffer();
+    return parse(0, head);
+  }
+
+  /**
+   * Scans 8 bytes at a time, carrying single byte chars into the char buffer across {@link #loadMore()} calls.
+   *
+   * @param j number of chars already in the char buffer.
+   * @param i scan offset, bytes from head to i are known to be single byte chars.
+   */
+  private int parse(int j, int i) {
+    for (long word, tmp; ; i = head) {
+      if (VECTORIZED) {
+        i = VectorScanner.indexOfQuoteEscapeOrMultiByte(buf, i, tail);
+      }
+      for (; i + Long.BYTES <= tail; i += Long.BYTES) {
+        word = (long) TO_LONG.get(buf, i);
+        if (containsMultiByteOrEscapePattern(word)) {
+          break;
+        }
+        tmp = matchQuotePattern(word);
+        if (tmp != 0) {
+          final int quote = i + (Long.numberOfTrailingZeros(tmp) >>> 3);
+          j = copyChars(head, quote, j);
+          head = quote + 1;
+          return j;
+        }
+      }
+      for (byte c; i < tail; ++i) {
+        c = buf[i];
+        if (c == '"') {
+          j = copyChars(head, i, j);
+          head = i + 1;
+          return j;
+        } else if ((c ^ '\\') < 1) {
+          // If a backslash is encountered, which is a beginning of an escape sequence
+          // or a high bit was set - indicating an UTF-8 encoded multi-byte character,
+          // there is no chance that we can decode the string without instantiating
+          // a temporary buffer, so quit this loop.
+          j = copyChars(head, i, j);
+          head = i;
+          return parseMultiByteString(j);
         }
-        charBuf[j++] = (char) (c & 0xff);
+      }
+      j = copyChars(head, tail, j);
+      head = tail;
+      if (!loadMore()) {
+        throw reportError("parse", "incomplete string");
       }
     }
-    throw reportError("parse", "incomplete string");
   }
 
   final void skipPastSingleByteEndQuote() {
@@ -219,6 +287,9 @@ class BytesJsonIterator extends BaseJsonIterator {
 
   @Override
   final void skipPastEndQuote() {
+    if (VECTORIZED) {
+      head = VectorScanner.indexOfQuoteOrEscape(buf, head, tail);
+    }
     int nextOffset = head + Long.BYTES;
     if (nextOffset > tail) {
       skipPastSingleByteEndQuote();
@@ -255,12 +326,6 @@ class BytesJsonIterator extends BaseJsonIterator {
     }
   }
 
-  @FunctionalInterface
-  private interface BytesFunction<T> {
-
-    T apply(final byte[] buf, final int from, final int to);
-  }
-
   private static final BytesFunction<byte[]> BASE64_DECODER = (buf, from, to) -> Base64.getDecoder().decode(Arrays.copyOfRange(buf, from, to));
 
   @Override
@@ -276,75 +341,77 @@ class BytesJsonIterator extends BaseJsonIterator {
     }
   }
 
+  /**
+   * Scans 8 bytes at a time for the end quote, carrying encoded bytes across {@link #loadMore()} calls.
+   */
   final byte[] parseBase64String() {
-    final int from = head;
-    int nextOffset = head + Long.BYTES;
-    if (nextOffset > tail) {
-      final int len = parse();
-      return BytesJsonIterator.BASE64_DECODER.apply(buf, from, from + len);
-    } else {
-      long word, tmp;
-      for (int i = head; ; ) {
-        word = (long) TO_LONG.get(buf, i);
-        tmp = matchQuotePattern(word);
+    for (int i = head, len = 0; ; i = head) {
+      for (long tmp; i + Long.BYTES <= tail; i += Long.BYTES) {
+        tmp = matchQuotePattern((long) TO_LONG.get(buf, i));
         if (tmp != 0) {
-          i += (Long.numberOfTrailingZeros(tmp << 1) >>> 3);
-          final int to = i - 1;
-          final var data = BytesJsonIterator.BASE64_DECODER.apply(buf, head, to);
-          head = i;
-          return data;
-        } else {
-          i = nextOffset;
-          nextOffset += Long.BYTES;
-          if (nextOffset > tail) {
-            if (i < tail) {
-              i = tail - Long.BYTES; // push i back a bit to match 8 byte pattern length.
-            } else {
-              throw reportError("decodeBase64String", "incomplete string");
-            }
-          }
+          return decodeBase64String(len, i + (Long.numberOfTrailingZeros(tmp) >>> 3));
+        }
+      }
+      for (; i < tail; ++i) {
+        if (buf[i] == '"') {
+          return decodeBase64String(len, i);
         }
       }
+      len = copyBytes(head, tail, len);
+      head = tail;
+      if (!loadMore()) {
+        throw reportError("decodeBase64String", "incomplete string");
+      }
+    }
+  }
+
+  private byte[] decodeBase64String(final int len, final int quote) {
+    final byte[] data;
+    if (len == 0) {
+      data = BASE64_DECODER.apply(buf, head, quote);
+    } else {
+      final int end = copyBytes(head, quote, len);
+      data = BASE64_DECODER.apply(byteBuf, 0, end);
     }
+    head = quote + 1;
+    return data;
   }
 
   @Override
   protected final String parseString() {
-    int nextOffset = head + Long.BYTES;
-    if (nextOffset > tail) {
-      final int len = parse();
-      return new String(charBuf, 0, len);
-    } else {
-      long word, tmp;
-      for (int i = head; ; ) {
-        word = (long) TO_LONG.get(buf, i);
-        if (containsMultiByteOrEscapePattern(word)) {
-          final int len = parseMultiByteString(0);
-          return new String(charBuf, 0, len);
-        } else {
-          tmp = matchQuotePattern(word);
-          if (tmp != 0) {
-            i += (Long.numberOfTrailingZeros(tmp << 1) >>> 3);
-            final var str = new String(buf, head, (i - 1) - head, StandardCharsets.US_ASCII);
-            head = i;
-            return str;
-          } else {
-            i = nextOffset;
-            nextOffset += Long.BYTES;
-            if (nextOffset > tail) {
-              if (i < tail) {
-                i = tail - Long.BYTES; // push i back a bit to match 8 byte pattern length.
-              } else if (supportsMarkReset()) { // Hack to check if reading from stream or not.
-                throw reportError("parseString", "incomplete string");
-              } else {
-                final int len = parseMultiByteString(0);
-                return new String(charBuf, 0, len);
-              }
-            }
-          }
-        }
+    int i = VECTORIZED ? VectorScanner.indexOfQuoteEscapeOrMultiByte(buf, head, tail) : head;
+    for (long word, tmp; i + Long.BYTES <= tail; i += Long.BYTES) {
+      word = (long) TO_LONG.get(buf, i);
+      if (containsMultiByteOrEscapePattern(word)) {
+        break;
+      }
+      tmp = matchQuotePattern(word);
+      if (tmp != 0) {
+        final int quote = i + (Long.numberOfTrailingZeros(tmp) >>> 3);
+        final var str = stringCache == null
+            ? new String(buf, head, quote - head, StandardCharsets.US_ASCII)
+            : stringCache.ascii(buf, head, quote - head);
+        head = quote + 1;
+        return str;
+      }
+    }
+    final int len = parse(0, i);
+    return stringCache == null ? new String(charBuf, 0, len) : stringCache.apply(charBuf, 0, len);
+  }
+
+  @Override
+  final long parseDateTime(final CharBufferToLongFunction parser, final long unitsPerSecond, final int nanosPerUnit) {
+    for (int i = head; i < tail; ++i) {
+      final byte c = buf[i];
+      if (c == '"') {
+        final int from = head;
+        head = i + 1;
+        return InstantParser.parseEpoch(buf, from, i - from, unitsPerSecond, nanosPerUnit);
+      } else if ((c ^ '\\') < 1) {
+        break;
       }
     }
+    return parse(parser);
   }
 
   @Override
@@ -422,6 +489,74 @@ class BytesJsonIterator extends BaseJsonIterator {
     return !fieldBufferFunction.test(context, charBuf, 0, len, this);
   }
 
+  /**
+   * Finds the closing quote of field names without escapes, multi-byte chars are passed through as is.  The field
+   * hash is folded in while scanning, see {@link FieldHashTable#hash(byte[], int, int)}.
+   */
+  @Override
+  int parseFieldBytes() {
+    final int from = head;
+    int i = from;
+    long hash = 0;
+    for (long word, tmp; i + Long.BYTES <= tail; i += Long.BYTES) {
+      word = (long) TO_LONG.get(buf, i);
+      if (containsPattern(word ^ ESCAPE_PATTERN)) {
+        break;
+      }
+      tmp = matchQuotePattern(word);
+      if (tmp != 0) {
+        final int numBytes = Long.numberOfTrailingZeros(tmp) >>> 3;
+        if (numBytes > 0) {
+          hash = FieldHashTable.mix(hash, word & (-1L >>> (Long.SIZE - (numBytes << 3))));
+        }
+        final int len = (i + numBytes) - from;
+        fieldHash = FieldHashTable.finish(hash, len);
+        head = i + numBytes + 1;
+        return len;
+      }
+      hash = FieldHashTable.mix(hash, word);
+    }
+    // Less than a word remains before the closing quote.
+    for (int j = i; j < tail; ++j) {
+      final byte c = buf[j];
+      if (c == '"') {
+        if (j > i) {
+          hash = FieldHashTable.mix(hash, FieldHashTable.partialWord(buf, i, j));
+        }
+        fieldHash = FieldHashTable.finish(hash, j - from);
+        head = j + 1;
+        return j - from;
+      } else if (c == '\\') {
+        break;
+      }
+    }
+    return ~parse();
+  }
+
+  @Override
+  final <C> boolean breakOut(final C context, final ContextFieldBytesPredicate<C> fieldBytesFunction, final int offset, final int len) {
+    return len < 0
+        ? breakOutEncoded(context, fieldBytesFunction, charBuf, 0, ~len)
+        : !fieldBytesFunction.test(context, buf, offset, len, this);
+  }
+
+  /**
+   * Passes the value directly from the underlying buffer.
+   */
+  @Override
+  <R> R applyRaw(final BytesFunction<R> rawValueFunction, final char c) {
+    final int from = head - 1;
+    skipValue(c);
+    return rawValueFunction.apply(buf, from, head);
+  }
+
+  @Override
+  final <C> long test(final C context, final long mask, final ContextFieldHashPredicate<C> fieldHashFunction, final int offset, final int len) {
+    return len < 0
+        ? testEncoded(context, mask, fieldHashFunction, charBuf, 0, ~len)
+        : fieldHashFunction.test(context, mask, fieldHash, buf, offset, len, this);
+  }
+
   @Override
   final <C> long test(final C context, final long mask, final ContextFieldBufferMaskedPredicate<C> fieldBufferFunction, final int offset, final int len) {
     return fieldBufferFunction.test(context, mask, charBuf, 0, len, this);
@@ -722,4 +857,56 @@ class BytesJsonIterator extends BaseJsonIterator {
       }
     }
   }
+
+  @Override
+  void skipArray() {
+    if (VECTORIZED) {
+      skipNested((byte) '[', (byte) ']', "skipArray", "incomplete array");
+    } else {
+      super.skipArray();
+    }
+  }
+
+  @Override
+  void skipObject() {
+    if (VECTORIZED) {
+      skipNested((byte) '{', (byte) '}', "skipObject", "incomplete object");
+    } else {
+      super.skipObject();
+    }
+  }
+
+  private void skipNested(final byte open, final byte close, final String op, final String msg) {
+    byte c;
+    for (int i = head, level = 1; ; ) {
+      for (i = VectorScanner.indexOfQuoteOrNesting(buf, i, tail, open, close); i < tail; ++i) {
+        c = buf[i];
+        if (c == '"' || c == open || c == close) {
+          break;
+        }
+      }
+      if (i == tail) {
+        if (loadMore()) {
+          i = head;
+          continue;
+        } else {
+          throw reportError(op, msg);
+        }
+      }
+      c = buf[i];
+      if (c == '"') {
+        head = i + 1;
+        skipPastEndQuote();
+        i = head;
+      } else if (c == open) {
+        ++level;
+        ++i;
+      } else if (--level == 0) {
+        head = i + 1;
+        return;
+      } else {
+        ++i;
+      }
+    }
+  }
 }
@@ -0,0 +1,451 @@
+package systems.comodal.jsoniter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static systems.comodal.jsoniter.BytesJsonIterator.matchPattern;
+
+class BytesJsonWriter implements JsonWriter {
+
+  private static final VarHandle TO_LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final long QUOTE_PATTERN = JIUtil.compileReplacePattern((byte) '"');
+  private static final long ESCAPE_PATTERN = JIUtil.compileReplacePattern((byte) '\\');
+  private static final long SPACE_PATTERN = JIUtil.compileReplacePattern((byte) ' ');
+  private static final long HIGH_BITS = JIUtil.compileReplacePattern((byte) 0x80);
+  private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+  private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+  private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+  private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+  private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+  private static final byte[] DIGIT_TENS = new byte[100];
+  private static final byte[] DIGIT_ONES = new byte[100];
+  private static final boolean[] ESCAPE = new boolean[0x80];
+  // Chars are escaped in chunks to bound the space ensured up front, at most 6 bytes per char.
+  private static final int CHUNK = 512;
+
+  static {
+    for (int i = 0; i < ' '; ++i) {
+      ESCAPE[i] = true;
+    }
+    ESCAPE['"'] = true;
+    ESCAPE['\\'] = true;
+    for (int i = 0; i < 100; ++i) {
+      DIGIT_TENS[i] = (byte) ('0' + i / 10);
+      DIGIT_ONES[i] = (byte) ('0' + i % 10);
+    }
+  }
+
+  byte[] buf;
+  int pos;
+  private boolean comma;
+  private char[] chars;
+
+  BytesJsonWriter(final byte[] buf) {
+    this.buf = buf;
+  }
+
+  /**
+   * Makes room for at least len more bytes after pos.
+   */
+  void drain(final int len) {
+    buf = Arrays.copyOf(buf, Math.max(pos + len, buf.length << 1));
+  }
+
+  final void ensure(final int len) {
+    if (pos + len > buf.length) {
+      drain(len);
+    }
+  }
+
+  private void separate() {
+    if (comma) {
+      ensure(1);
+      buf[pos++] = ',';
+    } else {
+      comma = true;
+    }
+  }
+
+  private JsonWriter writeByte(final byte b) {
+    ensure(1);
+    buf[pos++] = b;
+    return this;
+  }
+
+  private JsonWriter writeBytes(final byte[] bytes) {
+    ensure(bytes.length);
+    System.arraycopy(bytes, 0, buf, pos, bytes.length);
+    pos += bytes.length;
+    return this;
+  }
+
+  @Override
+  public final JsonWriter openObject() {
+    separate();
+    comma = false;
+    return writeByte((byte) '{');
+  }
+
+  @Override
+  public final JsonWriter closeObject() {
+    comma = true;
+    return writeByte((byte) '}');
+  }
+
+  @Override
+  public final JsonWriter openArray() {
+    separate();
+    comma = false;
+    return writeByte((byte) '[');
+  }
+
+  @Override
+  public final JsonWriter closeArray() {
+    comma = true;
+    return writeByte((byte) ']');
+  }
+
+  @Override
+  public final JsonWriter writeField(final String field) {
+    separate();
+    writeQuoted(field);
+    comma = false;
+    return writeByte((byte) ':');
+  }
+
+  @Override
+  public final JsonWriter writeField(final byte[] utf8, final int offset, final int len) {
+    final int end = offset + len;
+    if (indexOfEscape(utf8, offset, end) < end) {
+      return writeField(new String(utf8, offset, len, StandardCharsets.UTF_8));
+    }
+    separate();
+    ensure(len + 3);
+    buf[pos++] = '"';
+    System.arraycopy(utf8, offset, buf, pos, len);
+    pos += len;
+    buf[pos++] = '"';
+    buf[pos++] = ':';
+    comma = false;
+    return this;
+  }
+
+  @Override
+  public final JsonWriter writeNull() {
+    separate();
+    return writeBytes(NULL);
+  }
+
+  @Override
+  public final JsonWriter writeBoolean(final boolean value) {
+    separate();
+    return writeBytes(value ? TRUE : FALSE);
+  }
+
+  @Override
+  public final JsonWriter writeInt(final int value) {
+    return writeLong(value);
+  }
+
+  static int numDigits(final long value) {
+    long power = 10;
+    for (int digits = 1; digits < 19; ++digits, power *= 10) {
+      if (value < power) {
+        return digits;
+      }
+    }
+    return 19;
+  }
+
+  /**
+   * Writes the digits of a non-negative value so that the last digit is at end - 1.
+   */
+  static void writeDigits(final byte[] buf, int end, long value) {
+    while (value >= 100) {
+      final long q = value / 100;
+      final int r = (int) (value - q * 100);
+      buf[--end] = DIGIT_ONES[r];
+      buf[--end] = DIGIT_TENS[r];
+      value = q;
+    }
+    if (value >= 10) {
+      buf[--end] = DIGIT_ONES[(int) value];
+      buf[--end] = DIGIT_TENS[(int) value];
+    } else {
+      buf[--end] = (byte) ('0' + value);
+    }
+  }
+
+  @Override
+  public final JsonWriter writeLong(long value) {
+    separate();
+    if (value == Long.MIN_VALUE) {
+      return writeBytes(MIN_LONG);
+    }
+    ensure(20);
+    if (value < 0) {
+      buf[pos++] = '-';
+      value = -value;
+    }
+    pos += numDigits(value);
+    writeDigits(buf, pos, value);
+    return this;
+  }
+
+  private JsonWriter writeNonFinite(final double value) {
+    return writeString(Double.isNaN(value) ? "NaN" : value > 0 ? "Infinity" : "-Infinity");
+  }
+
+  @Override
+  public final JsonWriter writeDouble(final double value) {
+    if (!Double.isFinite(value)) {
+      return writeNonFinite(value);
+    }
+    separate();
+    ensure(DoubleWriter.MAX_LENGTH);
+    pos = DoubleWriter.writeDouble(buf, pos, value);
+    return this;
+  }
+
+  @Override
+  public final JsonWriter writeFloat(final float value) {
+    if (!Float.isFinite(value)) {
+      return writeNonFinite(value);
+    }
+    separate();
+    ensure(DoubleWriter.MAX_LENGTH);
+    pos = DoubleWriter.writeFloat(buf, pos, value);
+    return this;
+  }
+
+  @Override
+  public final JsonWriter writeUnscaled(final long unscaled, final int scale) {
+    if (scale <= 0) {
+      if (scale == 0) {
+        return writeLong(unscaled);
+      }
+      throw new IllegalArgumentException("scale must not be negative: " + scale);
+    }
+    separate();
+    ensure(Math.max(19, scale) + 3);
+    int p = pos;
+    final int len;
+    if (unscaled == Long.MIN_VALUE) {
+      len = MIN_LONG.length - 1;
+      buf[p++] = '-';
+      System.arraycopy(MIN_LONG, 1, buf, p, len);
+    } else {
+      long magnitude = unscaled;
+      if (unscaled < 0) {
+        buf[p++] = '-';
+        magnitude = -unscaled;
+      }
+      len = numDigits(magnitude);
+      writeDigits(buf, p + len, magnitude);
+    }
+    if (len > scale) {
+      final int point = p + len - scale;
+      System.arraycopy(buf, point, buf, point + 1, scale);
+      buf[point] = '.';
+      pos = p + len + 1;
+    } else {
+      final int zeros = scale - len;
+      System.arraycopy(buf, p, buf, p + 2 + zeros, len);
+      buf[p++] = '0';
+      buf[p++] = '.';
+      for (int i = 0; i < zeros; ++i) {
+        buf[p++] = '0';
+      }
+      pos = p + len;
+    }
+    return this;
+  }
+
+  @Override
+  public final JsonWriter writeString(final String value) {
+    if (value == null) {
+      return writeNull();
+    }
+    separate();
+    writeQuoted(value);
+    return this;
+  }
+
+  @Override
+  public final JsonWriter writeString(final char[] chars, final int offset, final int len) {
+    separate();
+    writeByte((byte) '"');
+    writeEscaped(chars, offset, offset + len);
+    return writeByte((byte) '"');
+  }
+
+  private void writeQuoted(final String value) {
+    writeByte((byte) '"');
+    final int len = value.length();
+    if (chars == null) {
+      chars = new char[CHUNK];
+    }
+    for (int from = 0, to; from < len; from = to) {
+      to = Math.min(len, from + CHUNK);
+      if (to < len && Character.isHighSurrogate(value.charAt(to - 1))) {
+        --to;
+      }
+      value.getChars(from, to, chars, 0);
+      writeEscaped(chars, 0, to - from);
+    }
+    writeByte((byte) '"');
+  }
+
+  /**
+   * @return the high bit of each byte which must be escaped, only the lowest is exact.
+   */
+  private static long matchEscape(final long word) {
+    return matchPattern(word ^ QUOTE_PATTERN)
+        | matchPattern(word ^ ESCAPE_PATTERN)
+        | ((word - SPACE_PATTERN) & ~word & HIGH_BITS);
+  }
+
+  /**
+   * @return the index of the first byte which must be escaped, multi-byte UTF-8 chars are passed over.
+   */
+  private static int indexOfEscape(final byte[] buf, int from, final int to) {
+    for (long tmp; from + Long.BYTES <= to; from += Long.BYTES) {
+      tmp = matchEscape((long) TO_LONG.get(buf, from));
+      if (tmp != 0) {
+        return from + (Long.numberOfTrailingZeros(tmp) >>> 3);
+      }
+    }
+    for (byte b; from < to; ++from) {
+      b = buf[from];
+      if (b == '"' || b == '\\' || (b & 0xFF) < ' ') {
+        return from;
+      }
+    }
+    return to;
+  }
+
+  /**
+   * Copies runs of ASCII chars which need no escaping 8 at a time.  Each char is narrowed to a byte, with non-ASCII
+   * chars folded to 0xFF, and the copied word is checked with SWAR.  Copying resumes from the first char which must
+   * be escaped or encoded, so chars are never re-copied past it and the cost stays linear in the length.
+   */
+  private void writeEscaped(final char[] chars, final int offset, final int end) {
+    for (int i = offset, to; i < end; i = to) {
+      to = Math.min(end, i + CHUNK);
+      // Keep surrogate pairs within a chunk.
+      if (to < end && Character.isHighSurrogate(chars[to - 1])) {
+        --to;
+      }
+      ensure((to - i) * 6);
+      writeEscapedChunk(chars, i, to);
+    }
+  }
+
+  private void writeEscapedChunk(final char[] chars, int i, final int end) {
+    final byte[] buf = this.buf;
+    int p = pos;
+    for (char c; i < end; ) {
+      for (long word, tmp; i + Long.BYTES <= end; i += Long.BYTES, p += Long.BYTES) {
+        for (int j = 0; j < Long.BYTES; ++j) {
+          c = chars[i + j];
+          buf[p + j] = (byte) (c | ((0x7F - c) >> 31));
+        }
+        word = (long) TO_LONG.get(buf, p);
+        tmp = matchEscape(word) | (word & HIGH_BITS);
+        if (tmp != 0) {
+          final int ascii = Long.numberOfTrailingZeros(tmp) >>> 3;
+          i += ascii;
+          p += ascii;
+          break;
+        }
+      }
+      for (; i < end && (c = chars[i]) < 0x80 && !ESCAPE[c]; ++i) {
+        buf[p++] = (byte) c;
+      }
+      if (i == end) {
+        break;
+      }
+      c = chars[i++];
+      if (c < 0x80) {
+        buf[p++] = '\\';
+        switch (c) {
+          case '"', '\\' -> buf[p++] = (byte) c;
+          case '\n' -> buf[p++] = 'n';
+          case '\r' -> buf[p++] = 'r';
+          case '\t' -> buf[p++] = 't';
+          case '\b' -> buf[p++] = 'b';
+          case '\f' -> buf[p++] = 'f';
+          default -> {
+            buf[p++] = 'u';
+            buf[p++] = '0';
+            buf[p++] = '0';
+            buf[p++] = HEX[c >> 4];
+            buf[p++] = HEX[c & 0xF];
+          }
+        }
+      } else if (c < 0x800) {
+        buf[p++] = (byte) (0xC0 | (c >> 6));
+        buf[p++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        if (Character.isHighSurrogate(c) && i < end && Character.isLowSurrogate(chars[i])) {
+          final int cp = Character.toCodePoint(c, chars[i++]);
+          buf[p++] = (byte) (0xF0 | (cp >> 18));
+          buf[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+          buf[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+          buf[p++] = (byte) (0x80 | (cp & 0x3F));
+        } else {
+          buf[p++] = '?';
+        }
+      } else {
+        buf[p++] = (byte) (0xE0 | (c >> 12));
+        buf[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buf[p++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    pos = p;
+  }
+
+  @Override
+  public final JsonWriter writeRawValue(final byte[] buf, final int from, final int to) {
+    separate();
+    final int len = to - from;
+    ensure(len);
+    System.arraycopy(buf, from, this.buf, pos, len);
+    pos += len;
+    return this;
+  }
+
+  @Override
+  public final int size() {
+    return pos;
+  }
+
+  @Override
+  public final byte[] buffer() {
+    return buf;
+  }
+
+  @Override
+  public final byte[] toByteArray() {
+    return Arrays.copyOf(buf, pos);
+  }
+
+  @Override
+  public JsonWriter reset() {
+    pos = 0;
+    comma = false;
+    return this;
+  }
+
+  @Override
+  public void flush() {
+  }
+
+  @Override
+  public void close() {
+    flush();
+  }
+}
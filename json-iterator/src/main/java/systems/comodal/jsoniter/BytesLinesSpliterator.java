@@ -0,0 +1,98 @@
+package systems.comodal.jsoniter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static systems.comodal.jsoniter.BytesJsonIterator.matchPattern;
+
+final class BytesLinesSpliterator implements Spliterator<JsonIterator> {
+
+  private static final VarHandle TO_LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  static final long NEWLINE_PATTERN = JIUtil.compileReplacePattern((byte) '\n');
+
+  private final byte[] buf;
+  private final int to;
+  private final int minSplit;
+  private int from;
+  private BytesJsonIterator ji;
+
+  BytesLinesSpliterator(final byte[] buf, final int from, final int to, final int minSplit) {
+    this.buf = buf;
+    this.from = from;
+    this.to = to;
+    this.minSplit = minSplit;
+  }
+
+  static int indexOfNewline(final byte[] buf, int i, final int to) {
+    for (long tmp; i + Long.BYTES <= to; i += Long.BYTES) {
+      tmp = matchPattern((long) TO_LONG.get(buf, i) ^ NEWLINE_PATTERN);
+      if (tmp != 0) {
+        return i + (Long.numberOfTrailingZeros(tmp) >>> 3);
+      }
+    }
+    for (; i < to; ++i) {
+      if (buf[i] == '\n') {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  static boolean isBlank(final byte[] buf, int i, final int to) {
+    for (byte c; i < to; ++i) {
+      c = buf[i];
+      if (c != ' ' && c != '\t' && c != '\r') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super JsonIterator> action) {
+    for (int end; from < to; ) {
+      end = indexOfNewline(buf, from, to);
+      if (isBlank(buf, from, end)) {
+        from = end + 1;
+      } else {
+        if (ji == null) {
+          ji = new BytesJsonIterator(buf, from, end);
+        } else {
+          ji.reset(buf, from, end);
+        }
+        from = end + 1;
+        action.accept(ji);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Spliterator<JsonIterator> trySplit() {
+    if (to - from < minSplit) {
+      return null;
+    }
+    final int mid = indexOfNewline(buf, from + ((to - from) >>> 1), to);
+    if (mid >= to - 1) {
+      return null;
+    }
+    final var prefix = new BytesLinesSpliterator(buf, from, mid + 1, minSplit);
+    from = mid + 1;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    // Remaining bytes, an upper bound of the remaining lines.
+    return to - from;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+}
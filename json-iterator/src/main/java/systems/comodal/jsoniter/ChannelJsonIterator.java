@@ -0,0 +1,129 @@
+package systems.comodal.jsoniter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Refills a single reusable heap or direct {@link ByteBuffer} from a {@link ReadableByteChannel}.
+ */
+final class ChannelJsonIterator extends ByteBufferJsonIterator {
+
+  private ReadableByteChannel channel;
+
+  ChannelJsonIterator(final ReadableByteChannel channel, final ByteBuffer buf, final int head, final int tail) {
+    super(buf, head, tail);
+    this.channel = channel;
+  }
+
+  ChannelJsonIterator(final ReadableByteChannel channel,
+                      final ByteBuffer buf,
+                      final int head,
+                      final int tail,
+                      final int charBufferLength) {
+    super(buf, head, tail, charBufferLength);
+    this.channel = channel;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  @Override
+  public boolean supportsMarkReset() {
+    return false;
+  }
+
+  @Override
+  public int mark() {
+    throw new UnsupportedOperationException("Mark is not supported when using a ReadableByteChannel.");
+  }
+
+  @Override
+  public JsonIterator reset(final int mark) {
+    throw new UnsupportedOperationException("Reset via mark is not supported when using a ReadableByteChannel.");
+  }
+
+  @Override
+  public JsonIterator reset(final ByteBuffer buf) {
+    return keepStringCache(JsonIterator.parse(buf));
+  }
+
+  @Override
+  public JsonIterator reset(final ReadableByteChannel channel) {
+    this.channel = channel;
+    this.head = 0;
+    this.tail = 0;
+    return this;
+  }
+
+  @Override
+  public JsonIterator reset(final ReadableByteChannel channel, final int bufSize) {
+    if (buf.capacity() != bufSize) {
+      this.buf = buf.isDirect() ? ByteBuffer.allocateDirect(bufSize) : ByteBuffer.allocate(bufSize);
+    }
+    return reset(channel);
+  }
+
+  /**
+   * Only copies the bytes of values spanning refills, see {@link #loadMore()}.
+   */
+  @Override
+  <R> R applyRaw(final BytesFunction<R> rawValueFunction, final char c) {
+    captureFrom = head - 1;
+    capturedLen = 0;
+    skipValue(c);
+    final int from = captureFrom;
+    captureFrom = -1;
+    if (capturedLen == 0) {
+      return applyBytes(rawValueFunction, from, head);
+    }
+    final int len = head - from;
+    buf.get(from, growCapture(len), capturedLen, len);
+    return rawValueFunction.apply(captured, 0, capturedLen + len);
+  }
+
+  @Override
+  boolean loadMore() {
+    if (captureFrom >= 0) {
+      final int len = tail - captureFrom;
+      buf.get(captureFrom, growCapture(len), capturedLen, len);
+      capturedLen += len;
+    }
+    try {
+      buf.clear();
+      final int n = channel.read(buf);
+      if (n < 1) {
+        if (n == -1) {
+          if (captureFrom >= 0) {
+            // Nothing was read, so the buffered bytes which were just captured remain from tail to head.
+            captureFrom = tail;
+          }
+          return false;
+        } else {
+          throw reportError("loadMore", "read from channel returned " + n);
+        }
+      } else {
+        if (captureFrom >= 0) {
+          captureFrom = 0;
+        }
+        head = 0;
+        tail = n;
+        return true;
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  byte read() {
+    if (head == tail && !loadMore()) {
+      throw reportError("read", "no more to read");
+    } else {
+      return buf.get(head++);
+    }
+  }
+}
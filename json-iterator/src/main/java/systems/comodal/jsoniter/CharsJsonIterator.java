@@ -2,6 +2,7 @@ package systems.comodal.jsoniter;
 
 import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.channels.ReadableByteChannel;
 
 final class CharsJsonIterator extends BaseJsonIterator {
 
@@ -19,12 +20,12 @@ final class CharsJsonIterator extends BaseJsonIterator {
 
   @Override
   public JsonIterator reset(final byte[] buf) {
-    return JsonIterator.parse(buf);
+    return keepStringCache(JsonIterator.parse(buf));
   }
 
   @Override
   public JsonIterator reset(final byte[] buf, final int head, final int tail) {
-    return JsonIterator.parse(buf, head, tail);
+    return keepStringCache(JsonIterator.parse(buf, head, tail));
   }
 
   @Override
@@ -45,12 +46,17 @@ final class CharsJsonIterator extends BaseJsonIterator {
 
   @Override
   public JsonIterator reset(final InputStream in) {
-    return JsonIterator.parse(in, buf.length);
+    return keepStringCache(JsonIterator.parse(in, buf.length));
   }
 
   @Override
   public JsonIterator reset(final InputStream in, final int bufSize) {
-    return JsonIterator.parse(in, bufSize);
+    return keepStringCache(JsonIterator.parse(in, bufSize));
+  }
+
+  @Override
+  public JsonIterator reset(final ReadableByteChannel channel) {
+    return keepStringCache(JsonIterator.parse(channel, buf.length));
   }
 
   @Override
@@ -166,7 +172,12 @@ final class CharsJsonIterator extends BaseJsonIterator {
       }
       switch (peekChar(i)) {
         case ' ':
-          continue;
+          if (len == 0) {
+            continue;
+          }
+          // Callers locate the digits at head - len.
+          head = i;
+          return len;
         case '.':
         case 'e':
         case 'E':
@@ -350,6 +361,35 @@ final class CharsJsonIterator extends BaseJsonIterator {
     }
   }
 
+  @Override
+  <C> boolean breakOut(final C context, final ContextFieldBytesPredicate<C> fieldBytesFunction, final int offset, int len) {
+    len = ~len;
+    if (numEscapes > 0) {
+      final char[] chars = handleEscapes(offset, len);
+      return breakOutEncoded(context, fieldBytesFunction, chars, 0, chars.length);
+    } else {
+      return breakOutEncoded(context, fieldBytesFunction, buf, offset, len);
+    }
+  }
+
+  @Override
+  <R> R applyRaw(final BytesFunction<R> rawValueFunction, final char c) {
+    final int from = head - 1;
+    skipValue(c);
+    return applyEncoded(rawValueFunction, buf, from, head - from);
+  }
+
+  @Override
+  <C> long test(final C context, final long mask, final ContextFieldHashPredicate<C> fieldHashFunction, final int offset, int len) {
+    len = ~len;
+    if (numEscapes > 0) {
+      final char[] chars = handleEscapes(offset, len);
+      return testEncoded(context, mask, fieldHashFunction, chars, 0, chars.length);
+    } else {
+      return testEncoded(context, mask, fieldHashFunction, buf, offset, len);
+    }
+  }
+
   @Override
   <C> long test(final C context, final long mask, final ContextFieldBufferMaskedPredicate<C> fieldBufferFunction, final int offset, final int len) {
     if (numEscapes > 0) {
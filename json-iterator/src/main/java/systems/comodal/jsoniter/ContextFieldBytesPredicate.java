@@ -0,0 +1,7 @@
+package systems.comodal.jsoniter;
+
+@FunctionalInterface
+public interface ContextFieldBytesPredicate<C> {
+
+  boolean test(final C context, final byte[] buf, final int offset, final int len, final JsonIterator jsonIterator);
+}
@@ -0,0 +1,17 @@
+package systems.comodal.jsoniter;
+
+@FunctionalInterface
+public interface ContextFieldHashPredicate<C> {
+
+  /**
+   * @param hash {@link FieldHashTable#hash(byte[], int, int)} of the UTF-8 encoded field name.
+   * @return the updated mask, or {@link ContextFieldBufferMaskedPredicate#BREAK_OUT}.
+   */
+  long test(final C context,
+            final long mask,
+            final long hash,
+            final byte[] buf,
+            final int offset,
+            final int len,
+            final JsonIterator jsonIterator);
+}
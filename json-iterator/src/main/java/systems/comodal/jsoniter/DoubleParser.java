@@ -0,0 +1,225 @@
+package systems.comodal.jsoniter;
+
+import java.math.BigInteger;
+
+/**
+ * Allocation free decimal to IEEE 754 conversion, returning raw bits so the parsers fit
+ * {@link CharBufferToLongFunction} and {@link CharBufferToIntFunction}.
+ * <p>
+ * Numbers with at most 19 significant digits take Clinger's exact fast path or the Eisel-Lemire algorithm,
+ * everything else, including hex, Infinity and NaN, falls back to {@link Double#parseDouble(String)}.
+ *
+ * @see <a href="https://arxiv.org/abs/2101.11408">Number Parsing at a Gigabyte per Second</a>
+ */
+final class DoubleParser {
+
+  private DoubleParser() {
+  }
+
+  private static final int SMALLEST_POWER_OF_FIVE = -342;
+  private static final int LARGEST_POWER_OF_FIVE = 308;
+  private static final long[] POWERS_OF_FIVE_128 = initPowersOfFive();
+  private static final double[] DOUBLE_POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+  private static final float[] FLOAT_POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+  static final CharBufferToLongFunction PARSE_DOUBLE_BITS = DoubleParser::parseDoubleBits;
+  static final CharBufferToIntFunction PARSE_FLOAT_BITS = DoubleParser::parseFloatBits;
+
+  /**
+   * The 128 most significant bits of 5^q for q in [-342, 308], truncated for q >= 0 and rounded up for q < 0.
+   */
+  private static long[] initPowersOfFive() {
+    final var table = new long[(LARGEST_POWER_OF_FIVE - SMALLEST_POWER_OF_FIVE + 1) << 1];
+    final var mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+    for (int q = SMALLEST_POWER_OF_FIVE, i = 0; q <= LARGEST_POWER_OF_FIVE; ++q, i += 2) {
+      BigInteger c;
+      if (q < 0) {
+        final var power5 = BigInteger.valueOf(5).pow(-q);
+        final int z = power5.bitLength();
+        final int b = q >= -27 ? z + 127 : (z << 1) + 128;
+        c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+        final int excess = c.bitLength() - 128;
+        if (excess > 0) {
+          c = c.shiftRight(excess);
+        }
+      } else {
+        c = BigInteger.valueOf(5).pow(q);
+        final int shift = 128 - c.bitLength();
+        c = shift > 0 ? c.shiftLeft(shift) : c.shiftRight(-shift);
+      }
+      table[i] = c.shiftRight(64).longValue();
+      table[i + 1] = c.and(mask).longValue();
+    }
+    return table;
+  }
+
+  private static long unsignedMultiplyHigh(final long x, final long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  /**
+   * @return the biased exponent and mantissa bits of w * 10^q, w must be non-zero.
+   */
+  private static long eiselLemire(long w,
+                                  final int q,
+                                  final int mantissaBits,
+                                  final int minExponent,
+                                  final int infinitePower,
+                                  final int minRoundToEven,
+                                  final int maxRoundToEven) {
+    final int lz = Long.numberOfLeadingZeros(w);
+    w <<= lz;
+    final int index = (q - SMALLEST_POWER_OF_FIVE) << 1;
+    long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE_128[index]);
+    long low = w * POWERS_OF_FIVE_128[index];
+    final long precisionMask = -1L >>> (mantissaBits + 3);
+    if ((high & precisionMask) == precisionMask) {
+      final long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE_128[index + 1]);
+      low += secondHigh;
+      if (Long.compareUnsigned(secondHigh, low) > 0) {
+        ++high;
+      }
+    }
+    final int upperBit = (int) (high >>> 63);
+    final int shift = upperBit + 64 - mantissaBits - 3;
+    long mantissa = high >>> shift;
+    int power2 = ((217706 * q) >> 16) + 63 + upperBit - lz - minExponent;
+    if (power2 <= 0) {
+      if (-power2 + 1 >= 64) {
+        return 0;
+      }
+      mantissa >>>= -power2 + 1;
+      mantissa += mantissa & 1;
+      // Rounding up to 1 << mantissaBits yields the smallest normal number.
+      return mantissa >>> 1;
+    }
+    if (Long.compareUnsigned(low, 1) <= 0
+        && q >= minRoundToEven && q <= maxRoundToEven
+        && (mantissa & 3) == 1
+        && (mantissa << shift) == high) {
+      mantissa &= ~1L;
+    }
+    mantissa += mantissa & 1;
+    mantissa >>>= 1;
+    if (mantissa >= (2L << mantissaBits)) {
+      mantissa = 1L << mantissaBits;
+      ++power2;
+    }
+    mantissa &= ~(1L << mantissaBits);
+    return power2 >= infinitePower
+        ? (long) infinitePower << mantissaBits
+        : ((long) power2 << mantissaBits) | mantissa;
+  }
+
+  private static long fallback(final char[] buf, final int offset, final int len, final boolean single) {
+    final var s = new String(buf, offset, len);
+    return single
+        ? Float.floatToRawIntBits(Float.parseFloat(s))
+        : Double.doubleToRawLongBits(Double.parseDouble(s));
+  }
+
+  private static long toDoubleBits(final long w, final int q) {
+    if (q < SMALLEST_POWER_OF_FIVE) {
+      return 0;
+    } else if (q > LARGEST_POWER_OF_FIVE) {
+      return Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+    } else if (q >= -22 && q <= 22 && Long.compareUnsigned(w, 1L << 53) <= 0) {
+      return Double.doubleToRawLongBits(q < 0 ? w / DOUBLE_POWERS_OF_TEN[-q] : w * DOUBLE_POWERS_OF_TEN[q]);
+    } else {
+      return eiselLemire(w, q, 52, -1023, 0x7FF, -4, 23);
+    }
+  }
+
+  private static long toFloatBits(final long w, final int q) {
+    if (q < -64) {
+      return 0;
+    } else if (q > 38) {
+      return Float.floatToRawIntBits(Float.POSITIVE_INFINITY);
+    } else if (q >= -10 && q <= 10 && Long.compareUnsigned(w, 1L << 24) <= 0) {
+      return Float.floatToRawIntBits(q < 0 ? w / FLOAT_POWERS_OF_TEN[-q] : w * FLOAT_POWERS_OF_TEN[q]);
+    } else {
+      return eiselLemire(w, q, 23, -127, 0xFF, -17, 10);
+    }
+  }
+
+  /**
+   * Parses [-+]digits[.digits][(e|E)[-+]digits] with at most 19 significant digits, anything else falls back.
+   *
+   * @return the unsigned bits of the double, or of the float if single.
+   */
+  private static long parse(final char[] buf, final int offset, final int len, final boolean single) {
+    final int end = offset + len;
+    int i = offset;
+    final boolean negative = i < end && buf[i] == '-';
+    if (negative || (i < end && buf[i] == '+')) {
+      ++i;
+    }
+    long w = 0;
+    int numDigits = 0;
+    int q = 0;
+    boolean anyDigits = false;
+    char c;
+    for (; i < end && (c = buf[i]) >= '0' && c <= '9'; ++i) {
+      anyDigits = true;
+      if (w != 0 || c != '0') {
+        if (++numDigits > 19) {
+          return fallback(buf, offset, len, single);
+        }
+        w = w * 10 + (c - '0');
+      }
+    }
+    if (i < end && buf[i] == '.') {
+      for (++i; i < end && (c = buf[i]) >= '0' && c <= '9'; ++i) {
+        anyDigits = true;
+        --q;
+        if (w != 0 || c != '0') {
+          if (++numDigits > 19) {
+            return fallback(buf, offset, len, single);
+          }
+          w = w * 10 + (c - '0');
+        }
+      }
+    }
+    if (!anyDigits) {
+      return fallback(buf, offset, len, single);
+    }
+    if (i < end && ((c = buf[i]) == 'e' || c == 'E')) {
+      if (++i == end) {
+        return fallback(buf, offset, len, single);
+      }
+      final boolean negativeExponent = buf[i] == '-';
+      if (negativeExponent || buf[i] == '+') {
+        ++i;
+      }
+      final int from = i;
+      int exponent = 0;
+      for (; i < end && (c = buf[i]) >= '0' && c <= '9'; ++i) {
+        if (exponent < 100_000) {
+          exponent = exponent * 10 + (c - '0');
+        }
+      }
+      if (i == from) {
+        return fallback(buf, offset, len, single);
+      }
+      q += negativeExponent ? -exponent : exponent;
+    }
+    if (i != end) {
+      return fallback(buf, offset, len, single);
+    } else if (w == 0) {
+      return negative ? (single ? 0x8000_0000L : Long.MIN_VALUE) : 0;
+    }
+    final long bits = single ? toFloatBits(w, q) : toDoubleBits(w, q);
+    return negative ? bits | (single ? 0x8000_0000L : Long.MIN_VALUE) : bits;
+  }
+
+  static long parseDoubleBits(final char[] buf, final int offset, final int len) {
+    return parse(buf, offset, len, false);
+  }
+
+  static int parseFloatBits(final char[] buf, final int offset, final int len) {
+    return (int) parse(buf, offset, len, true);
+  }
+}
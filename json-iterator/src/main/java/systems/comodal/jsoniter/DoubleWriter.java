@@ -0,0 +1,302 @@
+package systems.comodal.jsoniter;
+
+import java.math.BigInteger;
+
+/**
+ * Allocation free shortest decimal formatting of finite doubles and floats with the Schubfach algorithm, so that
+ * {@link DoubleParser} reads back the exact same value.
+ * <p>
+ * Output follows the ECMAScript Number to String conversion, e.g. 100, 0.001, 1.5e-7 and 1e21.  Unlike
+ * {@link Double#toString(double)} a single significant digit is allowed, e.g. {@link Double#MIN_VALUE} is written as
+ * 5e-324.
+ *
+ * @see <a href="https://drive.google.com/file/d/1IEeATSVnEE6TkrHlCYNY2GjaraBjOT4f">The Schubfach way to render
+ * doubles</a>
+ */
+final class DoubleWriter {
+
+  private DoubleWriter() {
+  }
+
+  /**
+   * Maximum number of bytes written, e.g. -0.0000012345678901234567.
+   */
+  static final int MAX_LENGTH = 32;
+
+  private static final int P = 53;
+  private static final int Q_MIN = -1074;
+  private static final long C_TINY = 3;
+  private static final long C_MIN = 1L << (P - 1);
+  private static final int BQ_MASK = (1 << 11) - 1;
+  private static final long T_MASK = (1L << (P - 1)) - 1;
+  private static final long MASK_63 = (1L << 63) - 1;
+
+  // Subnormals below C_TINY are outside of the algorithm's range, their shortest decimals are tabled by significand.
+  private static final long[] TINY_DIGITS = {0, 5, 1};
+  private static final int[] TINY_EXPONENTS = {0, -324, -323};
+
+  private static final int FLOAT_P = 24;
+  private static final int FLOAT_Q_MIN = -149;
+  private static final int FLOAT_C_TINY = 8;
+  private static final int FLOAT_C_MIN = 1 << (FLOAT_P - 1);
+  private static final int FLOAT_BQ_MASK = (1 << 8) - 1;
+  private static final int FLOAT_T_MASK = (1 << (FLOAT_P - 1)) - 1;
+  private static final long MASK_32 = (1L << 32) - 1;
+  private static final long[] FLOAT_TINY_DIGITS = {0, 1, 3, 4, 6, 7, 8, 1};
+  private static final int[] FLOAT_TINY_EXPONENTS = {0, -45, -45, -45, -45, -45, -45, -44};
+
+  private static final int K_MIN = -324;
+  private static final int K_MAX = 292;
+  private static final long[] G = initPowersOfTen();
+
+  /**
+   * For k in [K_MIN, K_MAX], g = floor(10^-k 2^-r) + 1 with r such that 2^125 <= 10^-k 2^-r < 2^126, split into
+   * its upper 63 bits and lower 63 bits.
+   */
+  private static long[] initPowersOfTen() {
+    final var table = new long[(K_MAX - K_MIN + 1) << 1];
+    final var mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+    for (int k = K_MIN, i = 0; k <= K_MAX; ++k, i += 2) {
+      final int r = flog2pow10(-k) - 125;
+      var numerator = BigInteger.TEN.pow(Math.max(-k, 0));
+      var denominator = BigInteger.TEN.pow(Math.max(k, 0));
+      if (r < 0) {
+        numerator = numerator.shiftLeft(-r);
+      } else {
+        denominator = denominator.shiftLeft(r);
+      }
+      final var g = numerator.divide(denominator).add(BigInteger.ONE);
+      table[i] = g.shiftRight(63).longValue();
+      table[i + 1] = g.and(mask).longValue();
+    }
+    return table;
+  }
+
+  private static int flog10pow2(final int e) {
+    return (int) (e * 661_971_961_083L >> 41);
+  }
+
+  private static int flog10threeQuartersPow2(final int e) {
+    return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+  }
+
+  private static int flog2pow10(final int e) {
+    return (int) (e * 913_124_641_741L >> 38);
+  }
+
+  private static long g1(final int k) {
+    return G[(k - K_MIN) << 1];
+  }
+
+  private static long g0(final int k) {
+    return G[((k - K_MIN) << 1) | 1];
+  }
+
+  private static long rop(final long g1, final long g0, final long cp) {
+    final long x1 = Math.multiplyHigh(g0, cp);
+    final long y0 = g1 * cp;
+    final long y1 = Math.multiplyHigh(g1, cp);
+    final long z = (y0 >>> 1) + x1;
+    final long vbp = y1 + (z >>> 63);
+    return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+  }
+
+  private static int rop(final long g, final long cp) {
+    final long x1 = Math.multiplyHigh(g, cp);
+    final long vbp = x1 >>> 31;
+    return (int) (vbp | ((x1 & MASK_32) + MASK_32) >>> 32);
+  }
+
+  /**
+   * Writes a finite double, see {@link #MAX_LENGTH}.
+   *
+   * @return the position after the last byte written.
+   */
+  static int writeDouble(final byte[] buf, int pos, final double value) {
+    final long bits = Double.doubleToRawLongBits(value);
+    if (bits < 0) {
+      buf[pos++] = '-';
+    }
+    final long t = bits & T_MASK;
+    final int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+    if (bq != 0) {
+      final int mq = -Q_MIN + 1 - bq;
+      final long c = C_MIN | t;
+      if (0 < mq && mq < P) {
+        final long f = c >> mq;
+        if (f << mq == c) {
+          return writeDecimal(buf, pos, f, 0);
+        }
+      }
+      return toDecimal(buf, pos, -mq, c);
+    } else if (t != 0) {
+      return t < C_TINY
+          ? writeDecimal(buf, pos, TINY_DIGITS[(int) t], TINY_EXPONENTS[(int) t])
+          : toDecimal(buf, pos, Q_MIN, t);
+    } else {
+      buf[pos++] = '0';
+      return pos;
+    }
+  }
+
+  private static int toDecimal(final byte[] buf, final int pos, final int q, final long c) {
+    final int out = (int) c & 1;
+    final long cb = c << 2;
+    final long cbr = cb + 2;
+    final long cbl;
+    final int k;
+    if (c != C_MIN || q == Q_MIN) {
+      cbl = cb - 2;
+      k = flog10pow2(q);
+    } else {
+      cbl = cb - 1;
+      k = flog10threeQuartersPow2(q);
+    }
+    final int h = q + flog2pow10(-k) + 2;
+    final long g1 = g1(k);
+    final long g0 = g0(k);
+    final long vb = rop(g1, g0, cb << h);
+    final long vbl = rop(g1, g0, cbl << h);
+    final long vbr = rop(g1, g0, cbr << h);
+    final long s = vb >> 2;
+    if (s >= 100) {
+      final long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+      final long tp10 = sp10 + 10;
+      final boolean upin = vbl + out <= sp10 << 2;
+      final boolean wpin = (tp10 << 2) + out <= vbr;
+      if (upin != wpin) {
+        return writeDecimal(buf, pos, upin ? sp10 : tp10, k);
+      }
+    }
+    final long t = s + 1;
+    final boolean uin = vbl + out <= s << 2;
+    final boolean win = (t << 2) + out <= vbr;
+    if (uin != win) {
+      return writeDecimal(buf, pos, uin ? s : t, k);
+    }
+    final long cmp = vb - ((s + t) << 1);
+    return writeDecimal(buf, pos, cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k);
+  }
+
+  /**
+   * Writes a finite float, see {@link #MAX_LENGTH}.
+   *
+   * @return the position after the last byte written.
+   */
+  static int writeFloat(final byte[] buf, int pos, final float value) {
+    final int bits = Float.floatToRawIntBits(value);
+    if (bits < 0) {
+      buf[pos++] = '-';
+    }
+    final int t = bits & FLOAT_T_MASK;
+    final int bq = (bits >>> (FLOAT_P - 1)) & FLOAT_BQ_MASK;
+    if (bq != 0) {
+      final int mq = -FLOAT_Q_MIN + 1 - bq;
+      final int c = FLOAT_C_MIN | t;
+      if (0 < mq && mq < FLOAT_P) {
+        final int f = c >> mq;
+        if (f << mq == c) {
+          return writeDecimal(buf, pos, f, 0);
+        }
+      }
+      return toFloatDecimal(buf, pos, -mq, c);
+    } else if (t != 0) {
+      return t < FLOAT_C_TINY
+          ? writeDecimal(buf, pos, FLOAT_TINY_DIGITS[t], FLOAT_TINY_EXPONENTS[t])
+          : toFloatDecimal(buf, pos, FLOAT_Q_MIN, t);
+    } else {
+      buf[pos++] = '0';
+      return pos;
+    }
+  }
+
+  private static int toFloatDecimal(final byte[] buf, final int pos, final int q, final int c) {
+    final int out = c & 1;
+    final long cb = (long) c << 2;
+    final long cbr = cb + 2;
+    final long cbl;
+    final int k;
+    if (c != FLOAT_C_MIN || q == FLOAT_Q_MIN) {
+      cbl = cb - 2;
+      k = flog10pow2(q);
+    } else {
+      cbl = cb - 1;
+      k = flog10threeQuartersPow2(q);
+    }
+    final int h = q + flog2pow10(-k) + 33;
+    final long g = g1(k) + 1;
+    final int vb = rop(g, cb << h);
+    final int vbl = rop(g, cbl << h);
+    final int vbr = rop(g, cbr << h);
+    final int s = vb >> 2;
+    if (s >= 100) {
+      final int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+      final int tp10 = sp10 + 10;
+      final boolean upin = vbl + out <= sp10 << 2;
+      final boolean wpin = (tp10 << 2) + out <= vbr;
+      if (upin != wpin) {
+        return writeDecimal(buf, pos, upin ? sp10 : tp10, k);
+      }
+    }
+    final int t = s + 1;
+    final boolean uin = vbl + out <= s << 2;
+    final boolean win = (t << 2) + out <= vbr;
+    if (uin != win) {
+      return writeDecimal(buf, pos, uin ? s : t, k);
+    }
+    final int cmp = vb - ((s + t) << 1);
+    return writeDecimal(buf, pos, cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k);
+  }
+
+  /**
+   * Writes f * 10^e for a positive f.
+   */
+  private static int writeDecimal(final byte[] buf, int pos, long f, int e) {
+    while (f % 10 == 0) {
+      f /= 10;
+      ++e;
+    }
+    final int len = BytesJsonWriter.numDigits(f);
+    final int point = len + e;
+    if (e >= 0 && point <= 21) {
+      BytesJsonWriter.writeDigits(buf, pos + len, f);
+      pos += len;
+      for (int i = 0; i < e; ++i) {
+        buf[pos++] = '0';
+      }
+      return pos;
+    } else if (point > 0 && point <= 21) {
+      BytesJsonWriter.writeDigits(buf, pos + len + 1, f);
+      System.arraycopy(buf, pos + 1, buf, pos, point);
+      buf[pos + point] = '.';
+      return pos + len + 1;
+    } else if (point > -6 && point <= 0) {
+      buf[pos++] = '0';
+      buf[pos++] = '.';
+      for (int i = point; i < 0; ++i) {
+        buf[pos++] = '0';
+      }
+      pos += len;
+      BytesJsonWriter.writeDigits(buf, pos, f);
+      return pos;
+    } else {
+      BytesJsonWriter.writeDigits(buf, pos + len + 1, f);
+      buf[pos] = buf[pos + 1];
+      if (len > 1) {
+        buf[pos + 1] = '.';
+        pos += len + 1;
+      } else {
+        ++pos;
+      }
+      buf[pos++] = 'e';
+      int exponent = point - 1;
+      if (exponent < 0) {
+        buf[pos++] = '-';
+        exponent = -exponent;
+      }
+      pos += BytesJsonWriter.numDigits(exponent);
+      BytesJsonWriter.writeDigits(buf, pos, exponent);
+      return pos;
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package systems.comodal.jsoniter;
+
+@FunctionalInterface
+public interface FieldBytesPredicate {
+
+  boolean test(final byte[] buf, final int offset, final int len, final JsonIterator jsonIterator);
+}
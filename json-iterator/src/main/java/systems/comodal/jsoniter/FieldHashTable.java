@@ -0,0 +1,131 @@
+package systems.comodal.jsoniter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Maps field names to their index in the array given at construction using a 64-bit hash of their UTF-8 bytes.
+ * <p>
+ * Iterators over a byte array compute the hash while scanning for the closing quote of a field name, see
+ * {@link JsonIterator#testObjectHashed(Object, ContextFieldHashPredicate)}, so a field is identified with one
+ * probe of an open addressing table and a single byte comparison for matches, unknown fields are usually rejected
+ * on the hash alone.
+ */
+public final class FieldHashTable {
+
+  private static final VarHandle TO_LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  private final byte[][] fields;
+  private final long[] hashes;
+  private final int[] ordinals;
+  private final int mask;
+
+  private FieldHashTable(final byte[][] fields, final long[] hashes, final int[] ordinals) {
+    this.fields = fields;
+    this.hashes = hashes;
+    this.ordinals = ordinals;
+    this.mask = ordinals.length - 1;
+  }
+
+  static long mix(final long hash, final long word) {
+    return Long.rotateLeft((hash ^ word) * MULTIPLIER, 29);
+  }
+
+  static long finish(long hash, final int len) {
+    hash = (hash ^ len) * MULTIPLIER;
+    return hash ^ (hash >>> 32);
+  }
+
+  /**
+   * Folds the bytes in 8 byte little-endian words, zero padding the last one.
+   */
+  public static long hash(final byte[] buf, final int offset, final int len) {
+    long hash = 0;
+    int i = offset;
+    final int end = offset + len;
+    for (; i + Long.BYTES <= end; i += Long.BYTES) {
+      hash = mix(hash, (long) TO_LONG.get(buf, i));
+    }
+    if (i < end) {
+      hash = mix(hash, partialWord(buf, i, end));
+    }
+    return finish(hash, len);
+  }
+
+  static long partialWord(final byte[] buf, final int from, int to) {
+    long word = 0;
+    while (to > from) {
+      word = (word << 8) | (buf[--to] & 0xFF);
+    }
+    return word;
+  }
+
+  public static long hash(final String field) {
+    final byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+    return hash(bytes, 0, bytes.length);
+  }
+
+  public static FieldHashTable create(final String... fields) {
+    final var bytes = new byte[fields.length][];
+    final int capacity = Integer.highestOneBit(Math.max(1, fields.length) << 1) << 1;
+    final var hashes = new long[capacity];
+    final var ordinals = new int[capacity];
+    Arrays.fill(ordinals, -1);
+    final int mask = capacity - 1;
+    for (int i = 0; i < fields.length; ++i) {
+      final var field = fields[i].getBytes(StandardCharsets.UTF_8);
+      for (int j = 0; j < i; ++j) {
+        if (Arrays.equals(field, bytes[j])) {
+          throw new IllegalArgumentException("Duplicate field " + fields[i]);
+        }
+      }
+      bytes[i] = field;
+      final long hash = hash(field, 0, field.length);
+      int slot = (int) hash & mask;
+      while (ordinals[slot] >= 0) {
+        slot = (slot + 1) & mask;
+      }
+      hashes[slot] = hash;
+      ordinals[slot] = i;
+    }
+    return new FieldHashTable(bytes, hashes, ordinals);
+  }
+
+  public int numFields() {
+    return fields.length;
+  }
+
+  public String field(final int ordinal) {
+    return new String(fields[ordinal], StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param hash {@link #hash(byte[], int, int)} of the field.
+   * @return the index of the field, or -1 if it is unknown.
+   */
+  public int ordinal(final long hash, final byte[] buf, final int offset, final int len) {
+    for (int slot = (int) hash & mask, ordinal; (ordinal = ordinals[slot]) >= 0; slot = (slot + 1) & mask) {
+      if (hashes[slot] == hash && JIUtil.fieldEquals(fields[ordinal], buf, offset, len)) {
+        return ordinal;
+      }
+    }
+    return -1;
+  }
+
+  public int ordinal(final String field) {
+    final byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+    return ordinal(hash(bytes, 0, bytes.length), bytes, 0, bytes.length);
+  }
+
+  /**
+   * Adapts an ordinal predicate for {@link JsonIterator#testObjectHashed(Object, ContextFieldHashPredicate)},
+   * fields with an ordinal below 64 may be tracked in the mask.
+   */
+  public <C> ContextFieldHashPredicate<C> masked(final FieldOrdinalPredicate<C> predicate) {
+    return (context, mask, hash, buf, offset, len, ji) -> predicate.test(context, mask, ordinal(hash, buf, offset, len), ji);
+  }
+}
@@ -0,0 +1,175 @@
+package systems.comodal.jsoniter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Maps field names to their index in the array given at construction with a single probe of a perfect hash
+ * table, followed by one comparison to reject unknown fields.
+ * <p>
+ * The hash covers the length and the first, middle and last chars of a field, or every char if those do not
+ * distinguish the fields.  If no perfect table is found within a bounded number of attempts, e.g. because even the
+ * full hashes collide, fields are placed by linear probing instead.
+ */
+public final class FieldMatcher {
+
+  private static final int MAX_TABLE_BITS = 20;
+  private static final int SEEDS_PER_SIZE = 32;
+
+  private final char[][] fields;
+  private final int[] table;
+  private final int seed;
+  private final int shift;
+  private final boolean fullHash;
+  // Whether fields share slots, which are then resolved by linear probing.
+  private final boolean probe;
+
+  private FieldMatcher(final char[][] fields,
+                       final int[] table,
+                       final int seed,
+                       final boolean fullHash,
+                       final boolean probe) {
+    this.fields = fields;
+    this.table = table;
+    this.seed = seed;
+    this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(table.length);
+    this.fullHash = fullHash;
+    this.probe = probe;
+  }
+
+  private static int hash(final char[] buf, final int offset, final int len, final boolean fullHash) {
+    int h = len;
+    if (fullHash) {
+      for (int i = offset, end = offset + len; i < end; ++i) {
+        h = 31 * h + buf[i];
+      }
+    } else if (len > 0) {
+      h = 31 * h + buf[offset];
+      h = 31 * h + buf[offset + (len >> 1)];
+      h = 31 * h + buf[offset + len - 1];
+    }
+    return h;
+  }
+
+  /**
+   * @return the hash of each field, or null if any are equal, as no odd seed can separate those.
+   */
+  private static int[] distinctHashes(final char[][] fields, final boolean fullHash) {
+    final int[] hashes = new int[fields.length];
+    for (int i = 0; i < fields.length; ++i) {
+      hashes[i] = hash(fields[i], 0, fields[i].length, fullHash);
+    }
+    final int[] sorted = hashes.clone();
+    Arrays.sort(sorted);
+    for (int i = 1; i < sorted.length; ++i) {
+      if (sorted[i] == sorted[i - 1]) {
+        return null;
+      }
+    }
+    return hashes;
+  }
+
+  private static boolean fillTable(final int[] table, final int[] hashes, final int seed) {
+    Arrays.fill(table, -1);
+    final int shift = Integer.SIZE - Integer.numberOfTrailingZeros(table.length);
+    for (int i = 0; i < hashes.length; ++i) {
+      final int slot = (hashes[i] * seed) >>> shift;
+      if (table[slot] >= 0) {
+        return false;
+      }
+      table[slot] = i;
+    }
+    return true;
+  }
+
+  public static FieldMatcher create(final String... fields) {
+    final var chars = new char[fields.length][];
+    for (int i = 0; i < fields.length; ++i) {
+      chars[i] = fields[i].toCharArray();
+      for (int j = 0; j < i; ++j) {
+        if (fields[i].equals(fields[j])) {
+          throw new IllegalArgumentException("Duplicate field " + fields[i]);
+        }
+      }
+    }
+    final var random = new SplittableRandom(fields.length);
+    final int minBits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(fields.length));
+    // A random multiplier is likely perfect once the table has about n^2 slots.
+    final int maxBits = Math.min(MAX_TABLE_BITS, (minBits << 1) + 1);
+    int[] fullHashes = null;
+    for (int fullHash = 0; fullHash < 2; ++fullHash) {
+      final int[] hashes = distinctHashes(chars, fullHash == 1);
+      if (hashes == null) {
+        continue;
+      }
+      fullHashes = hashes;
+      for (int bits = minBits; bits <= maxBits; ++bits) {
+        final int[] table = new int[1 << bits];
+        for (int attempt = 0; attempt < SEEDS_PER_SIZE; ++attempt) {
+          final int seed = random.nextInt() | 1;
+          if (fillTable(table, hashes, seed)) {
+            return new FieldMatcher(chars, table, seed, fullHash == 1, false);
+          }
+        }
+      }
+    }
+    if (fullHashes == null) {
+      fullHashes = new int[chars.length];
+      for (int i = 0; i < chars.length; ++i) {
+        fullHashes[i] = hash(chars[i], 0, chars[i].length, true);
+      }
+    }
+    // Fall back to linear probing a table with at most half of its slots used.
+    final int[] table = new int[1 << (minBits + 1)];
+    Arrays.fill(table, -1);
+    final int seed = random.nextInt() | 1;
+    final int shift = Integer.SIZE - (minBits + 1);
+    final int mask = table.length - 1;
+    for (int i = 0; i < fullHashes.length; ++i) {
+      int slot = (fullHashes[i] * seed) >>> shift;
+      while (table[slot] >= 0) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = i;
+    }
+    return new FieldMatcher(chars, table, seed, true, true);
+  }
+
+  public int numFields() {
+    return fields.length;
+  }
+
+  public String field(final int ordinal) {
+    return new String(fields[ordinal]);
+  }
+
+  /**
+   * @return the index of the field, or -1 if it is unknown.
+   */
+  public int ordinal(final char[] buf, final int offset, final int len) {
+    final int mask = table.length - 1;
+    for (int slot = (hash(buf, offset, len, fullHash) * seed) >>> shift; ; slot = (slot + 1) & mask) {
+      final int ordinal = table[slot];
+      if (ordinal < 0) {
+        return -1;
+      } else if (Arrays.equals(fields[ordinal], 0, fields[ordinal].length, buf, offset, offset + len)) {
+        return ordinal;
+      } else if (!probe) {
+        return -1;
+      }
+    }
+  }
+
+  public int ordinal(final String field) {
+    final var chars = field.toCharArray();
+    return ordinal(chars, 0, chars.length);
+  }
+
+  /**
+   * Adapts an ordinal predicate for {@link JsonIterator#testObject(Object, ContextFieldBufferMaskedPredicate)},
+   * fields with an ordinal below 64 may be tracked in the mask.
+   */
+  public <C> ContextFieldBufferMaskedPredicate<C> masked(final FieldOrdinalPredicate<C> predicate) {
+    return (context, mask, buf, offset, len, ji) -> predicate.test(context, mask, ordinal(buf, offset, len), ji);
+  }
+}
@@ -0,0 +1,12 @@
+package systems.comodal.jsoniter;
+
+@FunctionalInterface
+public interface FieldOrdinalPredicate<C> {
+
+  /**
+   * @param ordinal the index of the field in its {@link FieldMatcher} or {@link FieldHashTable}, or -1 for unknown
+   *                fields, whose value must still be consumed, e.g. with {@link JsonIterator#skip()}.
+   * @return the updated mask, or {@link ContextFieldBufferMaskedPredicate#BREAK_OUT}.
+   */
+  long test(final C context, final long mask, final int ordinal, final JsonIterator jsonIterator);
+}
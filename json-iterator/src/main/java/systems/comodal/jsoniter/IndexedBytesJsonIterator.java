@@ -0,0 +1,89 @@
+package systems.comodal.jsoniter;
+
+/**
+ * Stage two of two stage parsing, skipping objects and arrays jumps to the matching close bracket of the
+ * {@link StructuralIndex} instead of scanning the contents.  Falls back to scanning for unbalanced documents,
+ * which reports the error.
+ */
+final class IndexedBytesJsonIterator extends BytesJsonIterator {
+
+  private final StructuralIndex index;
+
+  IndexedBytesJsonIterator(final byte[] buf, final int head, final int tail) {
+    this(buf, head, tail, 64);
+  }
+
+  IndexedBytesJsonIterator(final byte[] buf, final int head, final int tail, final int charBufferLength) {
+    super(buf, head, tail, charBufferLength);
+    this.index = new StructuralIndex(Math.max(16, (tail - head) >> 3)).index(buf, head, tail);
+  }
+
+  @Override
+  public JsonIterator reset(final byte[] buf) {
+    return reset(buf, 0, buf.length);
+  }
+
+  @Override
+  public JsonIterator reset(final byte[] buf, final int head, final int tail) {
+    index.index(buf, head, tail);
+    return super.reset(buf, head, tail);
+  }
+
+  private boolean jumpToMatch(final int open) {
+    final int entry = index.entry(open);
+    if (entry >= 0) {
+      final int match = index.match(entry);
+      if (match >= 0) {
+        head = index.position(match) + 1;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Mirrors the default skipRest methods, which also open and skip the container if positioned before it.
+   */
+  private boolean jumpPastRest(final char open, final byte close) {
+    final char c = peekToken();
+    if (c == open) {
+      return jumpToMatch(head);
+    } else if (c == 'n') {
+      return false;
+    } else {
+      final int entry = index.enclosingClose(head);
+      if (entry >= 0) {
+        final int position = index.position(entry);
+        if (buf[position] == close) {
+          head = position + 1;
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  @Override
+  void skipArray() {
+    if (!jumpToMatch(head - 1)) {
+      super.skipArray();
+    }
+  }
+
+  @Override
+  void skipObject() {
+    if (!jumpToMatch(head - 1)) {
+      super.skipObject();
+    }
+  }
+
+  @Override
+  public JsonIterator skipRestOfObject() {
+    return jumpPastRest('{', (byte) '}') ? this : super.skipRestOfObject();
+  }
+
+  @Override
+  public JsonIterator skipRestOfArray() {
+    return jumpPastRest('[', (byte) ']') ? this : super.skipRestOfArray();
+  }
+}
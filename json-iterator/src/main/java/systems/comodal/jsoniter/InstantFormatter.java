@@ -0,0 +1,192 @@
+package systems.comodal.jsoniter;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+
+import static systems.comodal.jsoniter.InstantParser.DAYS_0000_TO_1970;
+import static systems.comodal.jsoniter.InstantParser.DAYS_PER_CYCLE;
+
+/**
+ * Allocation free counterpart to {@link InstantParser}, writes UTC timestamps as ASCII into a byte or char array.
+ * <p>
+ * The date prefix is cached while consecutive timestamps fall on the same day, so that typically only the time of
+ * day is formatted.  Instances are not thread safe.
+ */
+public final class InstantFormatter {
+
+  /**
+   * Maximum number of bytes or chars written, e.g. 2018-03-31T19:48:23.075238500Z.
+   */
+  public static final int MAX_LENGTH = 30;
+
+  private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+  private static final byte[] DAYS_OF_WEEK = "MonTueWedThuFriSatSun".getBytes();
+  private static final byte[] MONTHS = "JanFebMarAprMayJunJulAugSepOctNovDec".getBytes();
+
+  private final boolean rfc1123;
+  private final byte[] datePrefix;
+  private final byte[] scratch;
+  private long cachedEpochDay;
+
+  private InstantFormatter(final boolean rfc1123) {
+    this.rfc1123 = rfc1123;
+    this.datePrefix = new byte[rfc1123 ? 17 : 11];
+    this.scratch = new byte[MAX_LENGTH];
+    this.cachedEpochDay = Long.MIN_VALUE;
+  }
+
+  /**
+   * Formats like {@link Instant#toString()}, with zero, three, six or nine fraction digits, e.g.
+   * 2018-04-07T18:27:12.646Z.
+   */
+  public static InstantFormatter createIso() {
+    return new InstantFormatter(false);
+  }
+
+  /**
+   * Formats the fixed length GMT form used by HTTP, e.g. Fri, 04 Oct 2019 16:06:36 GMT.  Fractions of a second are
+   * truncated.
+   */
+  public static InstantFormatter createRfc1123() {
+    return new InstantFormatter(true);
+  }
+
+  private static int writeTwoDigits(final byte[] buf, final int offset, final int value) {
+    buf[offset] = (byte) ('0' + value / 10);
+    buf[offset + 1] = (byte) ('0' + value % 10);
+    return offset + 2;
+  }
+
+  private static int writeFixedDigits(final byte[] buf, final int offset, int value, final int numDigits) {
+    final int end = offset + numDigits;
+    for (int i = end; i > offset; value /= 10) {
+      buf[--i] = (byte) ('0' + value % 10);
+    }
+    return end;
+  }
+
+  private static int copy(final byte[] src, final int from, final byte[] buf, final int offset) {
+    buf[offset] = src[from];
+    buf[offset + 1] = src[from + 1];
+    buf[offset + 2] = src[from + 2];
+    return offset + 3;
+  }
+
+  /**
+   * The inverse of the day count in InstantParser#toEpochSecond, see {@link java.time.LocalDate#ofEpochDay(long)}.
+   */
+  private void cacheDatePrefix(final long epochDay) {
+    long zeroDay = epochDay + DAYS_0000_TO_1970;
+    // Shift to years starting in March, so that the leap day is the last day of the year.
+    zeroDay -= 60;
+    long adjust = 0;
+    if (zeroDay < 0) {
+      final long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+      adjust = adjustCycles * 400;
+      zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+    }
+    long year = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+    long dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+    if (dayOfYear < 0) {
+      --year;
+      dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+    }
+    final int marchMonth = ((int) dayOfYear * 5 + 2) / 153;
+    final int month = (marchMonth + 2) % 12 + 1;
+    final int day = (int) dayOfYear - (marchMonth * 306 + 5) / 10 + 1;
+    year += adjust + marchMonth / 10;
+    if (year < 0 || year > 9999) {
+      throw new DateTimeException("Only four digit years are supported: " + year);
+    }
+    final byte[] prefix = datePrefix;
+    if (rfc1123) {
+      int i = copy(DAYS_OF_WEEK, (int) Math.floorMod(epochDay + 3, 7) * 3, prefix, 0);
+      prefix[i++] = ',';
+      prefix[i++] = ' ';
+      i = writeTwoDigits(prefix, i, day);
+      prefix[i++] = ' ';
+      i = copy(MONTHS, (month - 1) * 3, prefix, i);
+      prefix[i++] = ' ';
+      i = writeFixedDigits(prefix, i, (int) year, 4);
+      prefix[i] = ' ';
+    } else {
+      int i = writeFixedDigits(prefix, 0, (int) year, 4);
+      prefix[i++] = '-';
+      i = writeTwoDigits(prefix, i, month);
+      prefix[i++] = '-';
+      i = writeTwoDigits(prefix, i, day);
+      prefix[i] = 'T';
+    }
+    cachedEpochDay = epochDay;
+  }
+
+  /**
+   * @return the offset after the last byte written, at most {@link #MAX_LENGTH} bytes are written.
+   * @throws DateTimeException if the year is outside [0, 9999].
+   */
+  public int format(final long epochSecond, final int nanos, final byte[] buf, int offset) {
+    if (nanos < 0 || nanos > 999_999_999) {
+      throw new DateTimeException("Invalid nanos: " + nanos);
+    }
+    final long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    if (epochDay != cachedEpochDay) {
+      cacheDatePrefix(epochDay);
+    }
+    System.arraycopy(datePrefix, 0, buf, offset, datePrefix.length);
+    offset += datePrefix.length;
+    final int secondOfDay = (int) (epochSecond - epochDay * SECONDS_PER_DAY);
+    offset = writeTwoDigits(buf, offset, secondOfDay / 3600);
+    buf[offset++] = ':';
+    offset = writeTwoDigits(buf, offset, (secondOfDay / 60) % 60);
+    buf[offset++] = ':';
+    offset = writeTwoDigits(buf, offset, secondOfDay % 60);
+    if (rfc1123) {
+      buf[offset++] = ' ';
+      buf[offset++] = 'G';
+      buf[offset++] = 'M';
+      buf[offset++] = 'T';
+      return offset;
+    }
+    if (nanos != 0) {
+      buf[offset++] = '.';
+      if (nanos % 1_000_000 == 0) {
+        offset = writeFixedDigits(buf, offset, nanos / 1_000_000, 3);
+      } else if (nanos % 1_000 == 0) {
+        offset = writeFixedDigits(buf, offset, nanos / 1_000, 6);
+      } else {
+        offset = writeFixedDigits(buf, offset, nanos, 9);
+      }
+    }
+    buf[offset++] = 'Z';
+    return offset;
+  }
+
+  /**
+   * @return the offset after the last char written, at most {@link #MAX_LENGTH} chars are written.
+   * @throws DateTimeException if the year is outside [0, 9999].
+   */
+  public int format(final long epochSecond, final int nanos, final char[] buf, int offset) {
+    final byte[] scratch = this.scratch;
+    final int len = format(epochSecond, nanos, scratch, 0);
+    for (int i = 0; i < len; ++i) {
+      buf[offset++] = (char) scratch[i];
+    }
+    return offset;
+  }
+
+  public int format(final Instant instant, final byte[] buf, final int offset) {
+    return format(instant.getEpochSecond(), instant.getNano(), buf, offset);
+  }
+
+  public int format(final Instant instant, final char[] buf, final int offset) {
+    return format(instant.getEpochSecond(), instant.getNano(), buf, offset);
+  }
+
+  public int formatEpochMilli(final long epochMilli, final byte[] buf, final int offset) {
+    return format(Math.floorDiv(epochMilli, 1_000), (int) Math.floorMod(epochMilli, 1_000) * 1_000_000, buf, offset);
+  }
+
+  public int formatEpochMilli(final long epochMilli, final char[] buf, final int offset) {
+    return format(Math.floorDiv(epochMilli, 1_000), (int) Math.floorMod(epochMilli, 1_000) * 1_000_000, buf, offset);
+  }
+}
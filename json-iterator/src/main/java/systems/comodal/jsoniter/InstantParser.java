@@ -1,5 +1,6 @@
 package systems.comodal.jsoniter;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -7,8 +8,6 @@ import java.time.chrono.IsoChronology;
 import java.time.format.DateTimeParseException;
 
 import static java.time.Instant.ofEpochSecond;
-import static systems.comodal.jsoniter.BaseJsonIterator.INT_DIGITS;
-import static systems.comodal.jsoniter.BaseJsonIterator.INVALID_CHAR_FOR_NUMBER;
 
 public final class InstantParser {
 
@@ -19,13 +18,13 @@ public final class InstantParser {
   /**
    * The number of days in a 400 year cycle.
    */
-  private static final int DAYS_PER_CYCLE = 146097;
+  static final int DAYS_PER_CYCLE = 146097;
   /**
    * The number of days from year zero to year 1970.
    * There are five 400 year cycles from year zero to 2000.
    * There are 7 leap years from 1970 to 2000.
    */
-  private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+  static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
 
   private static long toEpochSecond(final long year,
                                     final long month,
@@ -53,59 +52,99 @@ public final class InstantParser {
         + second;
   }
 
-  private static DateTimeParseException throwDateTimeParseException(final String context,
-                                                                    final char[] buf,
-                                                                    final int begin,
-                                                                    final int len,
-                                                                    final int offset) {
-    final var dateTime = new String(buf, begin, len);
-    throw new DateTimeParseException(context + '[' + dateTime + ']', dateTime, offset);
+  /**
+   * ASCII access to a char[] or byte[], so that each date time layout is only parsed in one place.
+   */
+  private interface Ascii<B> {
+
+    /**
+     * @return the char at i, bytes are widened without sign extension.
+     */
+    int charAt(final B buf, final int i);
+
+    String toString(final B buf, final int offset, final int len);
   }
 
-  private static int parseOffset(final char[] buf,
-                                 int i,
-                                 final int offset,
-                                 final int len,
-                                 final int max) {
-    int hourOffset = INT_DIGITS[buf[++i]];
-    if (hourOffset == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid offset ", buf, offset, len, i - offset);
-    }
-    int ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid offset ", buf, offset, len, i - offset);
+  private static final Ascii<char[]> CHARS = new Ascii<>() {
+    @Override
+    public int charAt(final char[] buf, final int i) {
+      return buf[i];
     }
-    hourOffset = SECONDS_PER_HOUR * ((hourOffset << 3) + (hourOffset << 1) + ind);
-    if (++i == max) {
-      return hourOffset;
+
+    @Override
+    public String toString(final char[] buf, final int offset, final int len) {
+      return new String(buf, offset, len);
     }
-    int minuteOffset = INT_DIGITS[buf[++i]];
-    if (minuteOffset == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid offset ", buf, offset, len, i - offset);
+  };
+
+  private static final Ascii<byte[]> BYTES = new Ascii<>() {
+    @Override
+    public int charAt(final byte[] buf, final int i) {
+      return buf[i] & 0xFF;
     }
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid offset ", buf, offset, len, i - offset);
+
+    @Override
+    public String toString(final byte[] buf, final int offset, final int len) {
+      return new String(buf, offset, len, StandardCharsets.ISO_8859_1);
     }
-    minuteOffset = 60 * ((minuteOffset << 3) + (minuteOffset << 1) + ind);
-    return hourOffset + minuteOffset;
+  };
+
+  private static <B> DateTimeParseException throwDateTimeParseException(final String context,
+                                                                        final Ascii<B> ascii,
+                                                                        final B buf,
+                                                                        final int begin,
+                                                                        final int len,
+                                                                        final int offset) {
+    final var dateTime = ascii.toString(buf, begin, len);
+    throw new DateTimeParseException(context + '[' + dateTime + ']', dateTime, offset);
   }
 
-  public static final CharBufferFunction<Instant> RFC_1123_INSTANT_PARSER = (buf, offset, len) -> {
-    int i = offset + 5;
-    int day = INT_DIGITS[buf[i]];
-    if (day == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid day ", buf, offset, len, i - offset);
+  private static boolean isDigit(final int c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static <B> int parseDigits(final String context,
+                                     final Ascii<B> ascii,
+                                     final B buf,
+                                     final int offset,
+                                     final int len,
+                                     int i,
+                                     final int numDigits) {
+    int value = 0;
+    for (final int end = i + numDigits; i < end; ++i) {
+      final int c = ascii.charAt(buf, i);
+      if (!isDigit(c)) {
+        throw throwDateTimeParseException(context, ascii, buf, offset, len, i - offset);
+      }
+      value = (value << 3) + (value << 1) + (c - '0');
     }
-    int ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid day ", buf, offset, len, i - offset);
+    return value;
+  }
+
+  /**
+   * @param i the index of the sign.
+   */
+  private static <B> int parseOffset(final Ascii<B> ascii,
+                                     final B buf,
+                                     int i,
+                                     final int offset,
+                                     final int len,
+                                     final int max) {
+    final int hourOffset = SECONDS_PER_HOUR * parseDigits("Invalid offset ", ascii, buf, offset, len, i + 1, 2);
+    i += 3;
+    if (i == max) {
+      return hourOffset;
     }
-    day = (day << 3) + (day << 1) + ind;
-    i += 2;
-    char a = buf[i];
-    char b = buf[++i];
-    char c = buf[++i];
+    return hourOffset + 60 * parseDigits("Invalid offset ", ascii, buf, offset, len, i + 1, 2);
+  }
+
+  private static <B> long parseRfc1123EpochSecond(final Ascii<B> ascii, final B buf, final int offset, final int len) {
+    int i = offset + 5;
+    final int day = parseDigits("Invalid day ", ascii, buf, offset, len, i, 2);
+    i += 3;
+    final int a = ascii.charAt(buf, i);
+    final int b = ascii.charAt(buf, ++i);
+    final int c = ascii.charAt(buf, ++i);
     final int month;
     if (a == 'J') {
       if (b == 'a' && c == 'n') {
@@ -116,10 +155,10 @@ public final class InstantParser {
         } else if (c == 'n') {
           month = 6;
         } else {
-          throw throwDateTimeParseException("Invalid month ", buf, offset, len, i - offset);
+          throw throwDateTimeParseException("Invalid month ", ascii, buf, offset, len, i - offset);
         }
       } else {
-        throw throwDateTimeParseException("Invalid month ", buf, offset, len, i - offset);
+        throw throwDateTimeParseException("Invalid month ", ascii, buf, offset, len, i - offset);
       }
     } else if (a == 'M') {
       if (b == 'a') {
@@ -128,10 +167,10 @@ public final class InstantParser {
         } else if (c == 'y') {
           month = 5;
         } else {
-          throw throwDateTimeParseException("Invalid month ", buf, offset, len, i - offset);
+          throw throwDateTimeParseException("Invalid month ", ascii, buf, offset, len, i - offset);
         }
       } else {
-        throw throwDateTimeParseException("Invalid month ", buf, offset, len, i - offset);
+        throw throwDateTimeParseException("Invalid month ", ascii, buf, offset, len, i - offset);
       }
     } else if (a == 'A') {
       if (b == 'p' && c == 'r') {
@@ -139,7 +178,7 @@ public final class InstantParser {
       } else if (b == 'u' && c == 'g') {
         month = 8;
       } else {
-        throw throwDateTimeParseException("Invalid month ", buf, offset, len, i - offset);
+        throw throwDateTimeParseException("Invalid month ", ascii, buf, offset, len, i - offset);
       }
     } else if (a == 'F' && b == 'e' && c == 'b') {
       month = 2;
@@ -152,195 +191,163 @@ public final class InstantParser {
     } else if (a == 'D' && b == 'e' && c == 'c') {
       month = 12;
     } else {
-      throw throwDateTimeParseException("Invalid month ", buf, offset, len, i - offset);
-    }
-    i += 2;
-    int year = INT_DIGITS[buf[i]];
-    if (year == INVALID_CHAR_FOR_NUMBER) {
-
-      throw throwDateTimeParseException("Invalid year ", buf, offset, len, 0);
-    }
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid year ", buf, offset, len, i - offset);
-    }
-    year = (year << 3) + (year << 1) + ind;
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid year ", buf, offset, len, i - offset);
-    }
-    year = (year << 3) + (year << 1) + ind;
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid year ", buf, offset, len, i - offset);
-    }
-    year = (year << 3) + (year << 1) + ind;
-    i += 2;
-    int hour = INT_DIGITS[buf[i]];
-    if (hour == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid hour ", buf, offset, len, i - offset);
-    }
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid hour ", buf, offset, len, i - offset);
-    }
-    hour = (hour << 3) + (hour << 1) + ind;
-    i += 2;
-    int minute = INT_DIGITS[buf[i]];
-    if (minute == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid minute ", buf, offset, len, i - offset);
-    }
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid minute ", buf, offset, len, i - offset);
-    }
-    minute = (minute << 3) + (minute << 1) + ind;
-    i += 2;
-    int second = INT_DIGITS[buf[i]];
-    if (second == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid second ", buf, offset, len, i - offset);
-    }
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid second ", buf, offset, len, i - offset);
+      throw throwDateTimeParseException("Invalid month ", ascii, buf, offset, len, i - offset);
     }
-    second = (second << 3) + (second << 1) + ind;
     i += 2;
-    final var zone = ZoneId.of(new String(buf, i, (offset + len) - i));
-    return ZonedDateTime.of(year, month, day, hour, minute, second, 0, zone).toInstant();
-  };
+    final int year = parseDigits("Invalid year ", ascii, buf, offset, len, i, 4);
+    i += 5;
+    final int hour = parseDigits("Invalid hour ", ascii, buf, offset, len, i, 2);
+    i += 3;
+    final int minute = parseDigits("Invalid minute ", ascii, buf, offset, len, i, 2);
+    i += 3;
+    final int second = parseDigits("Invalid second ", ascii, buf, offset, len, i, 2);
+    i += 3;
+    final var zone = ZoneId.of(ascii.toString(buf, i, (offset + len) - i));
+    return ZonedDateTime.of(year, month, day, hour, minute, second, 0, zone).toEpochSecond();
+  }
 
-  public static final CharBufferFunction<Instant> INSTANT_PARSER = (buf, offset, len) -> {
+  private static <B> long parseEpochSecond(final Ascii<B> ascii, final B buf, final int offset, final int len) {
     if (len < 19) {
-      if (len == 0) {
-        return null;
-      } else {
-        throw throwDateTimeParseException(String.format("Invalid length, %d, expected at least 19 characters", len), buf, offset, len, 0);
-      }
+      throw throwDateTimeParseException(String.format("Invalid length, %d, expected at least 19 characters", len), ascii, buf, offset, len, 0);
     }
-    int i = offset;
-    char c = buf[i];
-    int year = INT_DIGITS[c];
-    if (year == INVALID_CHAR_FOR_NUMBER) {
+    int c = ascii.charAt(buf, offset);
+    if (!isDigit(c)) {
       if (c == 'S' || c == 'T' || c == 'M' || c == 'W' || c == 'F') {
-        return RFC_1123_INSTANT_PARSER.apply(buf, offset, len);
+        return parseRfc1123EpochSecond(ascii, buf, offset, len);
       } else {
-        throw throwDateTimeParseException("Invalid year ", buf, offset, len, 0);
+        throw throwDateTimeParseException("Invalid year ", ascii, buf, offset, len, 0);
       }
     }
-    int ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid year ", buf, offset, len, i - offset);
-    }
-    year = (year << 3) + (year << 1) + ind;
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid year ", buf, offset, len, i - offset);
-    }
-    year = (year << 3) + (year << 1) + ind;
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid year ", buf, offset, len, i - offset);
-    }
-    year = (year << 3) + (year << 1) + ind;
-    i += 2;
-    int month = INT_DIGITS[buf[i]];
-    if (month == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid month ", buf, offset, len, i - offset);
-    }
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid month ", buf, offset, len, i - offset);
-    }
-    month = (month << 3) + (month << 1) + ind;
-    i += 2;
-    int day = INT_DIGITS[buf[i]];
-    if (day == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid day ", buf, offset, len, i - offset);
-    }
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid day ", buf, offset, len, i - offset);
-    }
-    day = (day << 3) + (day << 1) + ind;
-    i += 2;
-    int hour = INT_DIGITS[buf[i]];
-    if (hour == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid hour ", buf, offset, len, i - offset);
-    }
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid hour ", buf, offset, len, i - offset);
-    }
-    hour = (hour << 3) + (hour << 1) + ind;
-    i += 2;
-    int minute = INT_DIGITS[buf[i]];
-    if (minute == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid minute ", buf, offset, len, i - offset);
-    }
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid minute ", buf, offset, len, i - offset);
-    }
-    minute = (minute << 3) + (minute << 1) + ind;
-    i += 2;
-    int second = INT_DIGITS[buf[i]];
-    if (second == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid second ", buf, offset, len, i - offset);
-    }
-    ind = INT_DIGITS[buf[++i]];
-    if (ind == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid second ", buf, offset, len, i - offset);
-    }
-    second = (second << 3) + (second << 1) + ind;
+    final int year = parseDigits("Invalid year ", ascii, buf, offset, len, offset, 4);
+    final int month = parseDigits("Invalid month ", ascii, buf, offset, len, offset + 5, 2);
+    final int day = parseDigits("Invalid day ", ascii, buf, offset, len, offset + 8, 2);
+    final int hour = parseDigits("Invalid hour ", ascii, buf, offset, len, offset + 11, 2);
+    final int minute = parseDigits("Invalid minute ", ascii, buf, offset, len, offset + 14, 2);
+    final int second = parseDigits("Invalid second ", ascii, buf, offset, len, offset + 17, 2);
     final int max = offset + len;
-    if (++i == max) {
-      return ofEpochSecond(toEpochSecond(year, month, day, hour, minute, second), 0);
+    int i = offset + 19;
+    if (i == max) {
+      return toEpochSecond(year, month, day, hour, minute, second);
     }
-    c = buf[i];
-    if (c == '.') {
-      c = buf[++i];
-    } else {
+    c = ascii.charAt(buf, i);
+    if (c != '.') {
       final int offsetSeconds;
       if (c == 'Z') {
         offsetSeconds = 0;
       } else if (c == '-') {
-        offsetSeconds = -parseOffset(buf, i, offset, len, max);
+        offsetSeconds = -parseOffset(ascii, buf, i, offset, len, max);
       } else if (c == '+') {
-        offsetSeconds = parseOffset(buf, i, offset, len, max);
+        offsetSeconds = parseOffset(ascii, buf, i, offset, len, max);
       } else {
-        throw throwDateTimeParseException("Invalid offset ", buf, offset, len, i - offset);
+        throw throwDateTimeParseException("Invalid offset ", ascii, buf, offset, len, i - offset);
       }
-      return ofEpochSecond(toEpochSecond(year, month, day, hour, minute, second) - offsetSeconds, 0);
+      return toEpochSecond(year, month, day, hour, minute, second) - offsetSeconds;
     }
-    int nano = INT_DIGITS[c];
-    if (nano == INVALID_CHAR_FOR_NUMBER) {
-      throw throwDateTimeParseException("Invalid offset ", buf, offset, len, i - offset);
+    if (++i == max || !isDigit(ascii.charAt(buf, i))) {
+      throw throwDateTimeParseException("Invalid offset ", ascii, buf, offset, len, i - offset);
     }
-    int nanoDigitCount = 1;
     int offsetSeconds = 0;
     while (++i < max) {
-      c = buf[i];
-      ind = INT_DIGITS[c];
-      if (ind == INVALID_CHAR_FOR_NUMBER) {
+      c = ascii.charAt(buf, i);
+      if (!isDigit(c)) {
         if (c == 'Z') {
           break;
         } else if (c == '-') {
-          offsetSeconds = -parseOffset(buf, i, offset, len, max);
+          offsetSeconds = -parseOffset(ascii, buf, i, offset, len, max);
           break;
         } else if (c == '+') {
-          offsetSeconds = parseOffset(buf, i, offset, len, max);
+          offsetSeconds = parseOffset(ascii, buf, i, offset, len, max);
           break;
         } else {
-          throw throwDateTimeParseException("Invalid offset ", buf, offset, len, i - offset);
+          throw throwDateTimeParseException("Invalid offset ", ascii, buf, offset, len, i - offset);
         }
       }
-      nano = (nano << 3) + (nano << 1) + ind;
-      nanoDigitCount++;
     }
-    while (nanoDigitCount++ < 9) {
+    return toEpochSecond(year, month, day, hour, minute, second) - offsetSeconds;
+  }
+
+  private static <B> int parseNano(final Ascii<B> ascii, final B buf, final int offset, final int len) {
+    if (len < 21 || ascii.charAt(buf, offset + 19) != '.') {
+      return 0;
+    }
+    int nano = 0;
+    int i = offset + 20;
+    for (final int max = offset + Math.min(len, 29); i < max; ++i) {
+      final int c = ascii.charAt(buf, i);
+      if (!isDigit(c)) {
+        break;
+      }
+      nano = (nano << 3) + (nano << 1) + (c - '0');
+    }
+    for (int nanoDigitCount = i - (offset + 20); nanoDigitCount < 9; ++nanoDigitCount) {
       nano = (nano << 3) + (nano << 1);
     }
-    return ofEpochSecond(toEpochSecond(year, month, day, hour, minute, second) - offsetSeconds, nano);
-  };
+    return nano;
+  }
+
+  private static <B> long parseEpoch(final Ascii<B> ascii,
+                                     final B buf,
+                                     final int offset,
+                                     final int len,
+                                     final long unitsPerSecond,
+                                     final int nanosPerUnit) {
+    final long epochSecond = parseEpochSecond(ascii, buf, offset, len);
+    return Math.addExact(Math.multiplyExact(epochSecond, unitsPerSecond), parseNano(ascii, buf, offset, len) / nanosPerUnit);
+  }
+
+  /**
+   * Parses the same formats as {@link #INSTANT_PARSER}, see {@link #parseNano(char[], int, int)} for the fraction of
+   * the second.
+   */
+  public static long parseEpochSecond(final char[] buf, final int offset, final int len) {
+    return parseEpochSecond(CHARS, buf, offset, len);
+  }
+
+  /**
+   * @return the fraction of the second in nanos of a date time which has been validated by
+   * {@link #parseEpochSecond(char[], int, int)}, digits beyond nano precision are truncated.
+   */
+  public static int parseNano(final char[] buf, final int offset, final int len) {
+    return parseNano(CHARS, buf, offset, len);
+  }
+
+  static long parseEpoch(final char[] buf, final int offset, final int len, final long unitsPerSecond, final int nanosPerUnit) {
+    return parseEpoch(CHARS, buf, offset, len, unitsPerSecond, nanosPerUnit);
+  }
+
+  /**
+   * Parses ASCII bytes in the same formats as {@link #INSTANT_PARSER}, see {@link #parseNano(byte[], int, int)} for
+   * the fraction of the second.
+   */
+  public static long parseEpochSecond(final byte[] buf, final int offset, final int len) {
+    return parseEpochSecond(BYTES, buf, offset, len);
+  }
+
+  /**
+   * @return the fraction of the second in nanos of a date time which has been validated by
+   * {@link #parseEpochSecond(byte[], int, int)}, digits beyond nano precision are truncated.
+   */
+  public static int parseNano(final byte[] buf, final int offset, final int len) {
+    return parseNano(BYTES, buf, offset, len);
+  }
+
+  static long parseEpoch(final byte[] buf, final int offset, final int len, final long unitsPerSecond, final int nanosPerUnit) {
+    return parseEpoch(BYTES, buf, offset, len, unitsPerSecond, nanosPerUnit);
+  }
+
+  public static final CharBufferFunction<Instant> RFC_1123_INSTANT_PARSER = (buf, offset, len) ->
+      ofEpochSecond(parseRfc1123EpochSecond(CHARS, buf, offset, len), 0);
+
+  public static final CharBufferFunction<Instant> INSTANT_PARSER = (buf, offset, len) -> len == 0
+      ? null
+      : ofEpochSecond(parseEpochSecond(buf, offset, len), parseNano(buf, offset, len));
+
+  public static final CharBufferToLongFunction EPOCH_SECOND_PARSER = (buf, offset, len) ->
+      parseEpochSecond(buf, offset, len);
+
+  public static final CharBufferToLongFunction EPOCH_MILLI_PARSER = (buf, offset, len) ->
+      parseEpoch(buf, offset, len, 1_000, 1_000_000);
+
+  public static final CharBufferToLongFunction EPOCH_NANO_PARSER = (buf, offset, len) ->
+      parseEpoch(buf, offset, len, 1_000_000_000, 1);
 }
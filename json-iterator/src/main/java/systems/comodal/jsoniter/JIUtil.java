@@ -1,7 +1,13 @@
 package systems.comodal.jsoniter;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
 public final class JIUtil {
 
+  private static final VarHandle TO_LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
   private JIUtil() {
   }
 
@@ -27,6 +33,30 @@ public final class JIUtil {
     }
   }
 
+  /**
+   * Compares 8 bytes at a time, keys shorter than 8 bytes are compared byte by byte and the tail of longer keys is
+   * compared with an overlapping final word.
+   */
+  public static boolean fieldEquals(final byte[] field, final byte[] buf, final int offset, final int len) {
+    if (field.length != len) {
+      return false;
+    } else if (len < Long.BYTES) {
+      for (int i = 0, j = offset; i < len; ++i, ++j) {
+        if (field[i] != buf[j]) {
+          return false;
+        }
+      }
+      return true;
+    }
+    final int last = len - Long.BYTES;
+    for (int i = 0; i < last; i += Long.BYTES) {
+      if ((long) TO_LONG.get(field, i) != (long) TO_LONG.get(buf, offset + i)) {
+        return false;
+      }
+    }
+    return (long) TO_LONG.get(field, last) == (long) TO_LONG.get(buf, offset + last);
+  }
+
   public static long compileReplacePattern(final byte byteToFind) {
     final long pattern = byteToFind & 0xFFL;
     return pattern
@@ -0,0 +1,244 @@
+package systems.comodal.jsoniter;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static systems.comodal.jsoniter.BytesJsonIterator.containsPattern;
+
+/**
+ * Splits a top level JSON array into chunks of whole elements with a single string aware pass, so that the chunks
+ * may be parsed independently, e.g. in parallel.
+ * <p>
+ * Each chunk starts at the '[' or ',' preceding its first element, call {@link JsonIterator#readArray()} before
+ * each of its {@link #numElements(int)} elements.
+ */
+public final class JsonArrayChunks {
+
+  private static final VarHandle TO_LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final long QUOTE_PATTERN = JIUtil.compileReplacePattern((byte) '"');
+  private static final long ESCAPE_PATTERN = JIUtil.compileReplacePattern((byte) '\\');
+  private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+  private final byte[] buf;
+  private final MemorySegment segment;
+  private final long offset;
+  private final int window;
+  private long[] starts;
+  private long[] ends;
+  private int[] numElements;
+  private int numChunks;
+  // Scan state.
+  private final long chunkSize;
+  private int depth;
+  private boolean inString;
+  private boolean inElement;
+  private boolean closed;
+  private int carry;
+
+  private JsonArrayChunks(final byte[] buf,
+                          final MemorySegment segment,
+                          final long offset,
+                          final long chunkSize,
+                          final int window) {
+    this.buf = buf;
+    this.segment = segment;
+    this.offset = offset;
+    this.window = window;
+    this.chunkSize = chunkSize;
+    this.starts = new long[16];
+    this.ends = new long[16];
+    this.numElements = new int[16];
+  }
+
+  private static long defaultChunkSize(final long len) {
+    return Math.max(MIN_CHUNK_SIZE, len / (ForkJoinPool.getCommonPoolParallelism() << 2));
+  }
+
+  public static JsonArrayChunks split(final byte[] buf) {
+    return split(buf, 0, buf.length, defaultChunkSize(buf.length));
+  }
+
+  public static JsonArrayChunks split(final byte[] buf, final int from, final int to, final long chunkSize) {
+    final var segment = MemorySegment.ofArray(buf).asSlice(from, to - from);
+    return new JsonArrayChunks(buf, segment, from, chunkSize, MemorySegmentJsonIterator.DEFAULT_WINDOW).scan();
+  }
+
+  public static JsonArrayChunks split(final MemorySegment segment) {
+    return split(segment, defaultChunkSize(segment.byteSize()));
+  }
+
+  /**
+   * @param chunkSize targeted minimum number of bytes per chunk, chunks are limited to 1GB.
+   */
+  public static JsonArrayChunks split(final MemorySegment segment, final long chunkSize) {
+    return split(segment, chunkSize, MemorySegmentJsonIterator.DEFAULT_WINDOW);
+  }
+
+  static JsonArrayChunks split(final MemorySegment segment, final long chunkSize, final int window) {
+    return new JsonArrayChunks(null, segment, 0, Math.min(chunkSize, MemorySegmentJsonIterator.DEFAULT_WINDOW), window).scan();
+  }
+
+  public int numChunks() {
+    return numChunks;
+  }
+
+  public int numElements(final int chunk) {
+    return numElements[chunk];
+  }
+
+  public int numElements() {
+    int sum = 0;
+    for (int i = 0; i < numChunks; ++i) {
+      sum += numElements[i];
+    }
+    return sum;
+  }
+
+  /**
+   * @return a new iterator over the chunk, positioned before the '[' or ',' preceding its first element.
+   */
+  public JsonIterator iterator(final int chunk) {
+    final long start = starts[chunk];
+    final long end = ends[chunk];
+    return buf == null
+        ? JsonIterator.parse(segment, start, end)
+        : JsonIterator.parse(buf, (int) (offset + start), (int) (offset + end));
+  }
+
+  private void addChunk(final long start) {
+    if (numChunks == starts.length) {
+      final int capacity = numChunks << 1;
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+      numElements = Arrays.copyOf(numElements, capacity);
+    }
+    starts[numChunks] = start;
+    ends[numChunks] = -1;
+    numElements[numChunks++] = 0;
+  }
+
+  private JsonArrayChunks scan() {
+    final long len = segment.byteSize();
+    for (long base = 0; base < len; base += window) {
+      scan(segment.asSlice(base, Math.min(len - base, window)).asByteBuffer(), base);
+    }
+    if (!closed) {
+      throw new JsonException(numChunks == 0 ? "JsonArrayChunks: empty input" : "JsonArrayChunks: incomplete array");
+    }
+    return this;
+  }
+
+  /**
+   * @return the index of the first quote or backslash.
+   */
+  private static int indexOfQuoteOrEscape(final ByteBuffer window, int i, final int tail) {
+    for (long word; i + Long.BYTES <= tail; i += Long.BYTES) {
+      word = (long) TO_LONG.get(window, i);
+      if (containsPattern(word ^ QUOTE_PATTERN) || containsPattern(word ^ ESCAPE_PATTERN)) {
+        break;
+      }
+    }
+    for (byte c; i < tail; ++i) {
+      c = window.get(i);
+      if (c == '"' || c == '\\') {
+        return i;
+      }
+    }
+    return tail;
+  }
+
+  /**
+   * Only whitespace may follow the top level array.
+   */
+  private static void checkTrailingWhitespace(final ByteBuffer window, int i, final int tail) {
+    for (byte c; i < tail; ++i) {
+      c = window.get(i);
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        throw new JsonException("JsonArrayChunks: expected end of input after ']' but found " + (char) c);
+      }
+    }
+  }
+
+  private void scan(final ByteBuffer window, final long base) {
+    final int tail = window.limit();
+    if (closed) {
+      checkTrailingWhitespace(window, 0, tail);
+      return;
+    }
+    int i = carry;
+    carry = 0;
+    for (byte c; i < tail; ) {
+      if (inString) {
+        i = indexOfQuoteOrEscape(window, i, tail);
+        if (i == tail) {
+          return;
+        } else if (window.get(i) == '"') {
+          inString = false;
+          ++i;
+        } else if ((i += 2) > tail) {
+          carry = i - tail;
+          return;
+        }
+        continue;
+      }
+      c = window.get(i);
+      switch (c) {
+        case ' ', '\n', '\r', '\t' -> {
+        }
+        case ',' -> {
+          if (depth == 1) {
+            inElement = false;
+            final long position = base + i;
+            if (position - starts[numChunks - 1] >= chunkSize) {
+              ends[numChunks - 1] = position;
+              addChunk(position);
+            }
+          }
+        }
+        case '[', '{' -> {
+          if (depth == 0) {
+            if (c != '[') {
+              throw new JsonException("JsonArrayChunks: expected '[' but found '{'");
+            }
+            addChunk(base + i);
+          } else {
+            startElement();
+          }
+          ++depth;
+        }
+        case ']', '}' -> {
+          if (--depth == 0) {
+            ends[numChunks - 1] = base + i;
+            closed = true;
+            checkTrailingWhitespace(window, i + 1, tail);
+            return;
+          } else if (depth < 0) {
+            throw new JsonException("JsonArrayChunks: expected '[' but found " + (char) c);
+          }
+        }
+        default -> {
+          if (depth == 0) {
+            throw new JsonException("JsonArrayChunks: expected '[' but found " + (char) c);
+          }
+          startElement();
+          if (c == '"') {
+            inString = true;
+          }
+        }
+      }
+      ++i;
+    }
+  }
+
+  private void startElement() {
+    if (depth == 1 && !inElement) {
+      inElement = true;
+      ++numElements[numChunks - 1];
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package systems.comodal.jsoniter;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Push style parser for non-blocking sources. Chunks are fed as they arrive and each complete JSON value is
+ * handed to the consumer as soon as its last byte has been fed, without blocking for more input.
+ * <p>
+ * Partial values, including strings and numbers split across chunks, are buffered and the scan resumes where the
+ * previous chunk ended rather than at the start of the value.  The bytes of a value which is still incomplete at the
+ * end of a chunk are moved to the front of the buffer, and each complete value is parsed again by the consumer.
+ * <p>
+ * The {@link JsonIterator} passed to the consumer is reused and only valid for the duration of the callback.
+ */
+public interface JsonFeedParser {
+
+  /**
+   * Emits each top level value, values may be separated by whitespace, e.g. newline delimited JSON.
+   */
+  static JsonFeedParser create(final Consumer<JsonIterator> valueConsumer) {
+    return new BytesJsonFeedParser(valueConsumer, false, 512, 64);
+  }
+
+  static JsonFeedParser create(final Consumer<JsonIterator> valueConsumer, final int bufSize, final int charBufferLength) {
+    return new BytesJsonFeedParser(valueConsumer, false, bufSize, charBufferLength);
+  }
+
+  /**
+   * Emits each element of top level arrays, so that only a single element has to be buffered at a time.
+   */
+  static JsonFeedParser createArrayElements(final Consumer<JsonIterator> elementConsumer) {
+    return new BytesJsonFeedParser(elementConsumer, true, 512, 64);
+  }
+
+  static JsonFeedParser createArrayElements(final Consumer<JsonIterator> elementConsumer,
+                                            final int bufSize,
+                                            final int charBufferLength) {
+    return new BytesJsonFeedParser(elementConsumer, true, bufSize, charBufferLength);
+  }
+
+  void feed(final byte[] chunk, final int offset, final int len);
+
+  default void feed(final byte[] chunk) {
+    feed(chunk, 0, chunk.length);
+  }
+
+  /**
+   * Consumes the remaining bytes of the chunk.
+   */
+  void feed(final ByteBuffer chunk);
+
+  /**
+   * Emits a trailing top level number or literal and resets the parser for reuse.
+   *
+   * @throws JsonException if the input ended within a value.
+   */
+  void endOfInput();
+}
@@ -2,8 +2,12 @@ package systems.comodal.jsoniter;
 
 import java.io.Closeable;
 import java.io.InputStream;
+import java.lang.foreign.MemorySegment;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.time.Instant;
 
 public interface JsonIterator extends Closeable {
@@ -16,6 +20,38 @@ public interface JsonIterator extends Closeable {
     return new BufferedStreamJsonIterator(in, new byte[bufSize], 0, 0, charBufferLength);
   }
 
+  /**
+   * Supports mark/reset on a stream by retaining all bytes from the oldest mark, growing the buffer if needed,
+   * until {@link #releaseMarks()} is called.  Marks are absolute stream offsets.
+   */
+  static JsonIterator parseMarkable(final InputStream in, final int bufSize) {
+    return new MarkableStreamJsonIterator(in, new byte[bufSize], 0, 0);
+  }
+
+  static JsonIterator parseMarkable(final InputStream in, final int bufSize, final int charBufferLength) {
+    return new MarkableStreamJsonIterator(in, new byte[bufSize], 0, 0, charBufferLength);
+  }
+
+  static JsonIterator parse(final ReadableByteChannel channel, final int bufSize) {
+    return new ChannelJsonIterator(channel, ByteBuffer.allocate(bufSize), 0, 0);
+  }
+
+  static JsonIterator parse(final ReadableByteChannel channel, final int bufSize, final int charBufferLength) {
+    return new ChannelJsonIterator(channel, ByteBuffer.allocate(bufSize), 0, 0, charBufferLength);
+  }
+
+  /**
+   * Reads the remaining bytes of the buffer first, then reuses the whole buffer, which may be direct, to read
+   * from the channel.
+   */
+  static JsonIterator parse(final ReadableByteChannel channel, final ByteBuffer buf) {
+    return new ChannelJsonIterator(channel, buf, buf.position(), buf.limit());
+  }
+
+  static JsonIterator parse(final ReadableByteChannel channel, final ByteBuffer buf, final int charBufferLength) {
+    return new ChannelJsonIterator(channel, buf, buf.position(), buf.limit(), charBufferLength);
+  }
+
   static JsonIterator parse(final byte[] buf) {
     return new BytesJsonIterator(buf, 0, buf.length);
   }
@@ -32,6 +68,64 @@ public interface JsonIterator extends Closeable {
     return new BytesJsonIterator(buf, head, tail, charBufferLength);
   }
 
+  /**
+   * Indexes the structural characters of the document up front so that skipping objects and arrays, including
+   * {@link #skipRestOfObject()} and {@link #skipRestOfArray()}, jumps directly past the matching close bracket.
+   * Useful for large documents where most of the content is skipped.
+   */
+  static JsonIterator parseIndexed(final byte[] buf) {
+    return new IndexedBytesJsonIterator(buf, 0, buf.length);
+  }
+
+  static JsonIterator parseIndexed(final byte[] buf, final int head, final int tail) {
+    return new IndexedBytesJsonIterator(buf, head, tail);
+  }
+
+  static JsonIterator parseIndexed(final byte[] buf, final int head, final int tail, final int charBufferLength) {
+    return new IndexedBytesJsonIterator(buf, head, tail, charBufferLength);
+  }
+
+  /**
+   * Reads the remaining bytes of a heap or direct buffer, from its position to its limit, without copying.
+   * The position and limit of the buffer are not modified.
+   */
+  static JsonIterator parse(final ByteBuffer buf) {
+    return new ByteBufferJsonIterator(buf, buf.position(), buf.limit());
+  }
+
+  static JsonIterator parse(final ByteBuffer buf, final int charBufferLength) {
+    return new ByteBufferJsonIterator(buf, buf.position(), buf.limit(), charBufferLength);
+  }
+
+  /**
+   * Reads a heap, native or mapped segment without copying, supporting documents larger than 2GB.
+   * Use {@link #markLong()} and {@link #reset(long)} for marks beyond {@link Integer#MAX_VALUE}.
+   */
+  static JsonIterator parse(final MemorySegment segment) {
+    return new MemorySegmentJsonIterator(segment, 0, segment.byteSize());
+  }
+
+  static JsonIterator parse(final MemorySegment segment, final long from, final long to) {
+    return new MemorySegmentJsonIterator(segment, from, to);
+  }
+
+  static JsonIterator parse(final MemorySegment segment, final long from, final long to, final int charBufferLength) {
+    return new MemorySegmentJsonIterator(segment, from, to, charBufferLength);
+  }
+
+  /**
+   * Memory-maps the file for reading, {@link #close()} the iterator to unmap it.
+   *
+   * @throws java.io.UncheckedIOException if the file cannot be opened or mapped.
+   */
+  static JsonIterator parse(final Path path) {
+    return MappedFileJsonIterator.map(path, 64);
+  }
+
+  static JsonIterator parse(final Path path, final int charBufferLength) {
+    return MappedFileJsonIterator.map(path, charBufferLength);
+  }
+
   static JsonIterator parse(final char[] buf) {
     return new CharsJsonIterator(buf, 0, buf.length);
   }
@@ -68,6 +162,13 @@ public interface JsonIterator extends Closeable {
     return true;
   }
 
+  /**
+   * @param field UTF-8 encoded field name, e.g. precomputed with {@code "name".getBytes(StandardCharsets.UTF_8)}.
+   */
+  static boolean fieldEquals(final byte[] field, final byte[] buf, final int offset, final int len) {
+    return JIUtil.fieldEquals(field, buf, offset, len);
+  }
+
   static boolean fieldStartsWith(final String field, final char[] buf, final int offset, final int len) {
     final int to = field.length();
     if (to > len) {
@@ -158,6 +259,10 @@ public interface JsonIterator extends Closeable {
 
   JsonIterator reset(final byte[] buf, final int head, final int tail);
 
+  JsonIterator reset(final ByteBuffer buf);
+
+  JsonIterator reset(final MemorySegment segment);
+
   JsonIterator reset(final char[] buf);
 
   JsonIterator reset(final char[] buf, final int head, final int tail);
@@ -166,14 +271,54 @@ public interface JsonIterator extends Closeable {
 
   JsonIterator reset(final InputStream in, final int bufSize);
 
+  JsonIterator reset(final ReadableByteChannel channel);
+
+  JsonIterator reset(final ReadableByteChannel channel, final int bufSize);
+
   String currentBuffer();
 
+  /**
+   * Returns the same String instance for repeated values from {@link #readString()} and {@link #readObjField()},
+   * using a cache local to this iterator.  Disabled by default.
+   * <p>
+   * The cache survives resets, including resets to another type of source which return a new iterator, such as
+   * {@link #reset(InputStream)} on an iterator over a byte[].  The new iterator then shares the cache, so only one of
+   * them should be used at a time.
+   *
+   * @param maxEntries maximum number of cached Strings, rounded up to a power of two, zero disables the cache.
+   * @param maxLength  Strings longer than this are never cached.
+   */
+  JsonIterator internStrings(final int maxEntries, final int maxLength);
+
+  default JsonIterator internStrings(final int maxEntries) {
+    return internStrings(maxEntries, 32);
+  }
+
   // Object Field & Navigation Methods
 
   boolean supportsMarkReset();
 
   int mark();
 
+  /**
+   * @return a mark which may exceed {@link Integer#MAX_VALUE} for sources larger than 2GB.
+   */
+  default long markLong() {
+    return mark();
+  }
+
+  default JsonIterator reset(final long mark) {
+    return reset(Math.toIntExact(mark));
+  }
+
+  /**
+   * Allows iterators which retain data for marks, such as {@link #parseMarkable(InputStream, int)}, to discard
+   * everything before head.  Previous marks may no longer be valid.
+   */
+  default JsonIterator releaseMarks() {
+    return this;
+  }
+
   ValueType whatIsNext();
 
   boolean readArray();
@@ -200,6 +345,18 @@ public interface JsonIterator extends Closeable {
 
   JsonIterator skip();
 
+  /**
+   * Skips the next value, passing its raw UTF-8 bytes without any surrounding whitespace.  Iterators over a byte
+   * array pass the value directly from their buffer, stream iterators only copy the bytes of values spanning
+   * refills.  The bytes are only valid for the duration of the call.
+   */
+  <R> R applyRawValue(final BytesFunction<R> rawValueFunction);
+
+  /**
+   * @return a copy of the raw UTF-8 bytes of the next value, see {@link #applyRawValue(BytesFunction)}.
+   */
+  byte[] readRawValue();
+
   default JsonIterator skipRestOfObject() {
     while (skipObjField() != null) {
       skip();
@@ -242,6 +399,29 @@ public interface JsonIterator extends Closeable {
 
   double readDouble();
 
+  /**
+   * Reads an array of numbers, or number strings, without boxing.
+   *
+   * @return an array sized to the elements read, or null for a null value.
+   */
+  int[] readIntArray();
+
+  /**
+   * Fills array from offset with the elements of the next array, null is treated as an empty array.
+   *
+   * @return the number of elements read.
+   * @throws JsonException if the array has more elements than the remaining capacity.
+   */
+  int readIntArray(final int[] array, final int offset);
+
+  long[] readLongArray();
+
+  int readLongArray(final long[] array, final int offset);
+
+  double[] readDoubleArray();
+
+  int readDoubleArray(final double[] array, final int offset);
+
   BigDecimal readBigDecimal();
 
   @Deprecated
@@ -271,6 +451,26 @@ public interface JsonIterator extends Closeable {
    */
   Instant readDateTime();
 
+  /**
+   * Reads the same formats as {@link #readDateTime()} without allocating an Instant, parsing directly from the
+   * UTF-8 input where possible.
+   *
+   * @return seconds since the epoch, fractions of a second are truncated.
+   * @throws java.time.DateTimeException - on any unexpected character or length
+   */
+  long readDateTimeEpochSeconds();
+
+  /**
+   * @return milliseconds since the epoch, see {@link #readDateTimeEpochSeconds()}.
+   */
+  long readDateTimeEpochMillis();
+
+  /**
+   * @return nanoseconds since the epoch, see {@link #readDateTimeEpochSeconds()}.
+   * @throws ArithmeticException - if the date time is outside of the years 1677 to 2262.
+   */
+  long readDateTimeEpochNanos();
+
   // IOC Field Value Methods
 
   /**
@@ -338,4 +538,20 @@ public interface JsonIterator extends Closeable {
   void testObject(final FieldBufferPredicate fieldBufferFunction);
 
   <C> C testObject(final C context, final ContextFieldBufferMaskedPredicate<C> fieldBufferFunction);
+
+  /**
+   * Like {@link #testObject(FieldBufferPredicate)}, but passes field names as UTF-8 bytes.  Iterators over a byte
+   * array pass unescaped field names directly from the underlying buffer without decoding them to chars, others
+   * encode the decoded field name.  The bytes are only valid for the duration of the call.
+   */
+  void testObjectBytes(final FieldBytesPredicate fieldBytesFunction);
+
+  <C> C testObjectBytes(final C context, final ContextFieldBytesPredicate<C> fieldBytesFunction);
+
+  /**
+   * Like {@link #testObjectBytes(Object, ContextFieldBytesPredicate)}, additionally passing the
+   * {@link FieldHashTable#hash(byte[], int, int)} of each field name, which iterators over a byte array compute
+   * while scanning it, e.g. for lookups with {@link FieldHashTable#masked(FieldOrdinalPredicate)}.
+   */
+  <C> C testObjectHashed(final C context, final ContextFieldHashPredicate<C> fieldHashFunction);
 }
@@ -0,0 +1,76 @@
+package systems.comodal.jsoniter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Newline delimited JSON, one value per line, blank lines are ignored.
+ * <p>
+ * The spliterators split on line boundaries so that records may be parsed in parallel via
+ * {@link Stream#parallel()}.  Each spliterator reuses a single {@link JsonIterator}, which is only valid for the
+ * duration of the action it is passed to.
+ */
+public interface JsonLines {
+
+  int MIN_SPLIT = 1 << 16;
+
+  static Spliterator<JsonIterator> spliterator(final byte[] buf) {
+    return new BytesLinesSpliterator(buf, 0, buf.length, MIN_SPLIT);
+  }
+
+  static Spliterator<JsonIterator> spliterator(final byte[] buf, final int from, final int to) {
+    return new BytesLinesSpliterator(buf, from, to, MIN_SPLIT);
+  }
+
+  /**
+   * Reads the remaining bytes of the buffer, the position and limit of the buffer are not modified.
+   */
+  static Spliterator<JsonIterator> spliterator(final ByteBuffer buf) {
+    return spliterator(MemorySegment.ofBuffer(buf));
+  }
+
+  static Spliterator<JsonIterator> spliterator(final MemorySegment segment) {
+    return new SegmentLinesSpliterator(segment, 0, segment.byteSize(), MIN_SPLIT, MemorySegmentJsonIterator.DEFAULT_WINDOW);
+  }
+
+  static Stream<JsonIterator> stream(final byte[] buf) {
+    return StreamSupport.stream(spliterator(buf), false);
+  }
+
+  static Stream<JsonIterator> stream(final byte[] buf, final int from, final int to) {
+    return StreamSupport.stream(spliterator(buf, from, to), false);
+  }
+
+  static Stream<JsonIterator> stream(final ByteBuffer buf) {
+    return StreamSupport.stream(spliterator(buf), false);
+  }
+
+  static Stream<JsonIterator> stream(final MemorySegment segment) {
+    return StreamSupport.stream(spliterator(segment), false);
+  }
+
+  /**
+   * Memory-maps the file for reading, {@link Stream#close()} the stream to unmap it.
+   *
+   * @throws UncheckedIOException if the file cannot be opened or mapped.
+   */
+  static Stream<JsonIterator> stream(final Path path) {
+    final var arena = Arena.ofShared();
+    try {
+      return stream(MappedFileJsonIterator.map(path, arena)).onClose(arena::close);
+    } catch (final IOException e) {
+      arena.close();
+      throw new UncheckedIOException(e);
+    } catch (final RuntimeException e) {
+      arena.close();
+      throw e;
+    }
+  }
+}
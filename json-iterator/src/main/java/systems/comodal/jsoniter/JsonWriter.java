@@ -0,0 +1,116 @@
+package systems.comodal.jsoniter;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes UTF-8 JSON into a reusable byte array which either grows or is drained into a {@link ByteBuffer} or
+ * {@link OutputStream}.  Commas between values and fields are inserted automatically.  Writers do not allocate
+ * once their buffers have warmed up and are not thread safe.
+ */
+public interface JsonWriter extends Closeable, Flushable {
+
+  static JsonWriter create() {
+    return create(512);
+  }
+
+  static JsonWriter create(final int initialCapacity) {
+    return new BytesJsonWriter(new byte[Math.max(64, initialCapacity)]);
+  }
+
+  /**
+   * Buffered output is put into the ByteBuffer on {@link #flush()} or when the internal buffer is full.
+   */
+  static JsonWriter create(final ByteBuffer out) {
+    return create(out, 8_192);
+  }
+
+  static JsonWriter create(final ByteBuffer out, final int bufSize) {
+    return new ByteBufferJsonWriter(out, new byte[Math.max(64, bufSize)]);
+  }
+
+  /**
+   * Buffered output is written to the stream on {@link #flush()} or when the internal buffer is full.
+   */
+  static JsonWriter create(final OutputStream out) {
+    return create(out, 8_192);
+  }
+
+  static JsonWriter create(final OutputStream out, final int bufSize) {
+    return new StreamJsonWriter(out, new byte[Math.max(64, bufSize)]);
+  }
+
+  JsonWriter openObject();
+
+  JsonWriter closeObject();
+
+  JsonWriter openArray();
+
+  JsonWriter closeArray();
+
+  JsonWriter writeField(final String field);
+
+  /**
+   * Writes a field name given as UTF-8 bytes, e.g. from {@link JsonIterator#testObjectBytes(FieldBytesPredicate)}.
+   */
+  JsonWriter writeField(final byte[] utf8, final int offset, final int len);
+
+  JsonWriter writeNull();
+
+  JsonWriter writeBoolean(final boolean value);
+
+  JsonWriter writeInt(final int value);
+
+  JsonWriter writeLong(final long value);
+
+  /**
+   * Writes the shortest decimal which reads back as the same double.  Non-finite values are written as the quoted
+   * Strings "NaN", "Infinity" and "-Infinity", which {@link JsonIterator#readDouble()} accepts.
+   */
+  JsonWriter writeDouble(final double value);
+
+  JsonWriter writeFloat(final float value);
+
+  /**
+   * Writes unscaled * 10^-scale with exactly scale fraction digits, the inverse of
+   * {@link JsonIterator#readUnscaledAsLong(int)}, e.g. 12345 with a scale of 2 is written as 123.45.
+   */
+  JsonWriter writeUnscaled(final long unscaled, final int scale);
+
+  /**
+   * Writes null for a null String.
+   */
+  JsonWriter writeString(final String value);
+
+  JsonWriter writeString(final char[] chars, final int offset, final int len);
+
+  /**
+   * Writes an already encoded JSON value as is, e.g. from {@link JsonIterator#applyRawValue(BytesFunction)}.
+   */
+  JsonWriter writeRawValue(final byte[] buf, final int from, final int to);
+
+  /**
+   * @return the number of buffered bytes, which for writers without a sink is the length of the document.
+   */
+  int size();
+
+  /**
+   * @return the internal buffer, valid from zero to {@link #size()}.
+   */
+  byte[] buffer();
+
+  byte[] toByteArray();
+
+  /**
+   * Discards buffered output and starts a new document.
+   */
+  JsonWriter reset();
+
+  @Override
+  void flush();
+
+  @Override
+  void close();
+}
@@ -0,0 +1,46 @@
+package systems.comodal.jsoniter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Owns the {@link Arena} of a memory-mapped file, which is unmapped on {@link #close()}.
+ */
+final class MappedFileJsonIterator extends MemorySegmentJsonIterator {
+
+  private final Arena arena;
+
+  private MappedFileJsonIterator(final Arena arena, final MemorySegment segment, final int charBufferLength) {
+    super(segment, 0, segment.byteSize(), charBufferLength);
+    this.arena = arena;
+  }
+
+  static MemorySegment map(final Path path, final Arena arena) throws IOException {
+    try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+    }
+  }
+
+  static JsonIterator map(final Path path, final int charBufferLength) {
+    final var arena = Arena.ofShared();
+    try {
+      return new MappedFileJsonIterator(arena, map(path, arena), charBufferLength);
+    } catch (final IOException e) {
+      arena.close();
+      throw new UncheckedIOException(e);
+    } catch (final RuntimeException e) {
+      arena.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public void close() {
+    arena.close();
+  }
+}
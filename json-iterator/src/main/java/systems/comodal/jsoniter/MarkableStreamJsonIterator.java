@@ -0,0 +1,152 @@
+package systems.comodal.jsoniter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Retains the bytes from the oldest held mark across refills, compacting or growing the buffer as needed.
+ * Without a held mark refills behave the same as {@link BufferedStreamJsonIterator}.
+ */
+final class MarkableStreamJsonIterator extends BufferedStreamJsonIterator {
+
+  // Stream offset of buf[0].
+  private long base;
+  // Buffer index of the oldest held mark.
+  private int markedFrom = -1;
+  // Whether markedFrom is only held internally, see pin().
+  private boolean pinned;
+
+  MarkableStreamJsonIterator(final InputStream in, final byte[] buf, final int head, final int tail) {
+    super(in, buf, head, tail);
+  }
+
+  MarkableStreamJsonIterator(final InputStream in, final byte[] buf, final int head, final int tail, final int charBufferLength) {
+    super(in, buf, head, tail, charBufferLength);
+  }
+
+  @Override
+  public boolean supportsMarkReset() {
+    return true;
+  }
+
+  @Override
+  long pin() {
+    if (markedFrom < 0) {
+      markedFrom = head;
+      pinned = true;
+    }
+    return base + head;
+  }
+
+  @Override
+  void unpin() {
+    if (pinned) {
+      markedFrom = -1;
+      pinned = false;
+    }
+  }
+
+  @Override
+  public int mark() {
+    return Math.toIntExact(markLong());
+  }
+
+  @Override
+  public long markLong() {
+    if (markedFrom < 0) {
+      markedFrom = head;
+    }
+    pinned = false;
+    return base + head;
+  }
+
+  @Override
+  public JsonIterator releaseMarks() {
+    markedFrom = -1;
+    pinned = false;
+    return this;
+  }
+
+  @Override
+  public JsonIterator reset(final int mark) {
+    return reset((long) mark);
+  }
+
+  @Override
+  public JsonIterator reset(final long mark) {
+    final long i = mark - base;
+    if (i < 0 || i > tail) {
+      throw new IndexOutOfBoundsException(String.format("mark %d is no longer retained, retaining [%d, %d]", mark, base, base + tail));
+    }
+    this.head = (int) i;
+    return this;
+  }
+
+  @Override
+  public JsonIterator reset(final InputStream in) {
+    this.base = 0;
+    this.markedFrom = -1;
+    this.pinned = false;
+    return super.reset(in);
+  }
+
+  @Override
+  public JsonIterator reset(final InputStream in, final int bufSize) {
+    this.base = 0;
+    this.markedFrom = -1;
+    this.pinned = false;
+    return super.reset(in, bufSize);
+  }
+
+  /**
+   * Holds the start of the value like a mark, so it remains in the buffer across refills.
+   */
+  @Override
+  <R> R applyRaw(final BytesFunction<R> rawValueFunction, final char c) {
+    final long from = base + head - 1;
+    final boolean hold = markedFrom < 0;
+    if (hold) {
+      markedFrom = head - 1;
+    }
+    skipValue(c);
+    if (hold) {
+      markedFrom = -1;
+    }
+    return rawValueFunction.apply(buf, (int) (from - base), head);
+  }
+
+  @Override
+  boolean loadMore() {
+    final int from = markedFrom < 0 ? tail : markedFrom;
+    final int retained = tail - from;
+    if (from > 0) {
+      System.arraycopy(buf, from, buf, 0, retained);
+      base += from;
+      head -= from;
+      tail = retained;
+      if (markedFrom > 0) {
+        markedFrom = 0;
+      }
+    } else if (retained == buf.length) {
+      buf = Arrays.copyOf(buf, buf.length << 1);
+    }
+    try {
+      final int n = in.read(buf, retained, buf.length - retained);
+      if (n < 1) {
+        if (n == -1) {
+          return false;
+        } else {
+          throw reportError("loadMore", "read from input stream returned " + n);
+        }
+      } else {
+        head = retained;
+        tail = retained + n;
+        return true;
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package systems.comodal.jsoniter;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a {@link MemorySegment} through zero-copy {@link ByteBuffer} views of at most {@code window} bytes.
+ * The window slides forward as the iterator advances, allowing documents larger than 2GB.
+ * Marks are absolute segment offsets.
+ */
+class MemorySegmentJsonIterator extends ByteBufferJsonIterator {
+
+  static final int DEFAULT_WINDOW = 1 << 30;
+
+  private final int window;
+  private MemorySegment segment;
+  private long base;
+  private long limit;
+
+  MemorySegmentJsonIterator(final MemorySegment segment, final long from, final long to) {
+    this(segment, from, to, 64);
+  }
+
+  MemorySegmentJsonIterator(final MemorySegment segment, final long from, final long to, final int charBufferLength) {
+    this(segment, from, to, charBufferLength, DEFAULT_WINDOW);
+  }
+
+  MemorySegmentJsonIterator(final MemorySegment segment,
+                            final long from,
+                            final long to,
+                            final int charBufferLength,
+                            final int window) {
+    super(window(segment, from, to, window), 0, windowLength(from, to, window), charBufferLength);
+    this.window = window;
+    this.segment = segment;
+    this.base = from;
+    this.limit = to;
+  }
+
+  private static int windowLength(final long from, final long to, final int window) {
+    return (int) Math.min(to - from, window);
+  }
+
+  private static ByteBuffer window(final MemorySegment segment, final long from, final long to, final int window) {
+    return segment.asSlice(from, windowLength(from, to, window)).asByteBuffer();
+  }
+
+  private void slideWindow(final long from) {
+    this.base = from;
+    this.buf = window(segment, from, limit, window);
+    this.head = 0;
+    this.tail = windowLength(from, limit, window);
+  }
+
+  @Override
+  public JsonIterator reset(final MemorySegment segment) {
+    this.segment = segment;
+    this.limit = segment.byteSize();
+    slideWindow(0);
+    return this;
+  }
+
+  @Override
+  public JsonIterator reset(final ByteBuffer buf) {
+    return keepStringCache(JsonIterator.parse(buf));
+  }
+
+  @Override
+  boolean loadMore() {
+    final long from = base + tail;
+    if (from < limit) {
+      slideWindow(from);
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  byte read() {
+    if (head == tail && !loadMore()) {
+      throw reportError("read", "no more to read");
+    } else {
+      return buf.get(head++);
+    }
+  }
+
+  /**
+   * Values spanning windows are copied from the segment.
+   */
+  @Override
+  final <R> R applyRaw(final BytesFunction<R> rawValueFunction, final char c) {
+    final long from = base + head - 1;
+    skipValue(c);
+    if (from >= base) {
+      return applyBytes(rawValueFunction, (int) (from - base), head);
+    }
+    final int len = Math.toIntExact((base + head) - from);
+    final byte[] bytes = reusableByteBuffer(len);
+    MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, from, bytes, 0, len);
+    return rawValueFunction.apply(bytes, 0, len);
+  }
+
+  @Override
+  long pin() {
+    return base + head;
+  }
+
+  @Override
+  public long markLong() {
+    return base + head;
+  }
+
+  @Override
+  public int mark() {
+    return Math.toIntExact(base + head);
+  }
+
+  @Override
+  public JsonIterator reset(final long mark) {
+    if (mark >= base && mark <= base + tail) {
+      this.head = (int) (mark - base);
+    } else if (mark < 0 || mark > limit) {
+      throw new IndexOutOfBoundsException(String.format("mark %d is outside of the segment [0, %d]", mark, limit));
+    } else {
+      slideWindow(mark);
+    }
+    return this;
+  }
+
+  @Override
+  public JsonIterator reset(final int mark) {
+    return reset((long) mark);
+  }
+}
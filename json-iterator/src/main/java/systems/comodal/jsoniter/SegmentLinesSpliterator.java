@@ -0,0 +1,130 @@
+package systems.comodal.jsoniter;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static systems.comodal.jsoniter.BytesJsonIterator.matchPattern;
+import static systems.comodal.jsoniter.BytesLinesSpliterator.NEWLINE_PATTERN;
+
+/**
+ * Reads lines through zero-copy {@link ByteBuffer} views of at most {@code window} bytes, a single line may not
+ * exceed the window.
+ */
+final class SegmentLinesSpliterator implements Spliterator<JsonIterator> {
+
+  private static final VarHandle TO_LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private final MemorySegment segment;
+  private final long to;
+  private final int minSplit;
+  private final int window;
+  private long from;
+  private ByteBuffer buf;
+  private long base;
+  private ByteBufferJsonIterator ji;
+
+  SegmentLinesSpliterator(final MemorySegment segment,
+                          final long from,
+                          final long to,
+                          final int minSplit,
+                          final int window) {
+    this.segment = segment;
+    this.from = from;
+    this.to = to;
+    this.minSplit = minSplit;
+    this.window = window;
+  }
+
+  private static int indexOfNewline(final ByteBuffer buf, int i, final int to) {
+    for (long tmp; i + Long.BYTES <= to; i += Long.BYTES) {
+      tmp = matchPattern((long) TO_LONG.get(buf, i) ^ NEWLINE_PATTERN);
+      if (tmp != 0) {
+        return i + (Long.numberOfTrailingZeros(tmp) >>> 3);
+      }
+    }
+    for (; i < to; ++i) {
+      if (buf.get(i) == '\n') {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  private static boolean isBlank(final ByteBuffer buf, int i, final int to) {
+    for (byte c; i < to; ++i) {
+      c = buf.get(i);
+      if (c != ' ' && c != '\t' && c != '\r') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void slideWindow() {
+    base = from;
+    buf = segment.asSlice(from, Math.min(to - from, window)).asByteBuffer();
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super JsonIterator> action) {
+    if (buf == null) {
+      slideWindow();
+    }
+    for (int head, end, tail; from < to; ) {
+      head = (int) (from - base);
+      tail = buf.limit();
+      end = indexOfNewline(buf, head, tail);
+      if (end == tail && base + tail < to) {
+        if (head == 0) {
+          throw new JsonException(String.format("line starting at %d exceeds the window of %d bytes", from, window));
+        }
+        slideWindow();
+        continue;
+      }
+      from = base + end + 1;
+      if (!isBlank(buf, head, end)) {
+        if (ji == null) {
+          ji = new ByteBufferJsonIterator(buf, head, end);
+        } else {
+          ji.reset(buf, head, end);
+        }
+        action.accept(ji);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Spliterator<JsonIterator> trySplit() {
+    if (to - from < minSplit) {
+      return null;
+    }
+    for (long i = from + ((to - from) >>> 1), end = to - 1; i < end; ++i) {
+      if (segment.get(ValueLayout.JAVA_BYTE, i) == '\n') {
+        final var prefix = new SegmentLinesSpliterator(segment, from, i + 1, minSplit, window);
+        from = i + 1;
+        buf = null;
+        return prefix;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    // Remaining bytes, an upper bound of the remaining lines.
+    return to - from;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+}
@@ -0,0 +1,53 @@
+package systems.comodal.jsoniter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+final class StreamJsonWriter extends BytesJsonWriter {
+
+  private final OutputStream out;
+
+  StreamJsonWriter(final OutputStream out, final byte[] buf) {
+    super(buf);
+    this.out = out;
+  }
+
+  private void writeOut() {
+    try {
+      out.write(buf, 0, pos);
+      pos = 0;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  void drain(final int len) {
+    writeOut();
+    if (len > buf.length) {
+      buf = Arrays.copyOf(buf, len);
+    }
+  }
+
+  @Override
+  public void flush() {
+    writeOut();
+    try {
+      out.flush();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    flush();
+    try {
+      out.close();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package systems.comodal.jsoniter;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A direct mapped cache of Strings indexed by the hash of their chars, or of their bytes for ASCII input, a miss
+ * replaces the entry in its slot.  Instances are confined to a single iterator and are therefore not thread safe.
+ */
+final class StringCache implements CharBufferFunction<String> {
+
+  private final String[] strings;
+  private final int[] hashes;
+  private final int mask;
+  private final int maxLength;
+
+  StringCache(final int maxEntries, final int maxLength) {
+    final int capacity = maxEntries <= 1 ? 1 : Integer.highestOneBit(maxEntries - 1) << 1;
+    this.strings = new String[capacity];
+    this.hashes = new int[capacity];
+    this.mask = capacity - 1;
+    this.maxLength = maxLength;
+  }
+
+  private String cached(final int hash, final char[] buf, final int offset, final int len) {
+    final int slot = (hash ^ (hash >>> 16)) & mask;
+    final var cached = strings[slot];
+    if (cached != null && hashes[slot] == hash && JsonIterator.fieldEquals(cached, buf, offset, len)) {
+      return cached;
+    }
+    final var string = new String(buf, offset, len);
+    strings[slot] = string;
+    hashes[slot] = hash;
+    return string;
+  }
+
+  @Override
+  public String apply(final char[] buf, final int offset, final int len) {
+    if (len > maxLength) {
+      return new String(buf, offset, len);
+    }
+    int hash = len;
+    for (int i = offset, end = offset + len; i < end; ++i) {
+      hash = 31 * hash + buf[i];
+    }
+    return cached(hash, buf, offset, len);
+  }
+
+  private static boolean equals(final String cached, final byte[] buf, final int offset, final int len) {
+    if (cached.length() != len) {
+      return false;
+    }
+    for (int i = 0, j = offset; i < len; ++i, ++j) {
+      if (cached.charAt(i) != buf[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param buf ASCII bytes, hashed the same as their chars.
+   */
+  String ascii(final byte[] buf, final int offset, final int len) {
+    if (len > maxLength) {
+      return new String(buf, offset, len, StandardCharsets.US_ASCII);
+    }
+    int hash = len;
+    for (int i = offset, end = offset + len; i < end; ++i) {
+      hash = 31 * hash + buf[i];
+    }
+    final int slot = (hash ^ (hash >>> 16)) & mask;
+    final var cached = strings[slot];
+    if (cached != null && hashes[slot] == hash && equals(cached, buf, offset, len)) {
+      return cached;
+    }
+    final var string = new String(buf, offset, len, StandardCharsets.US_ASCII);
+    strings[slot] = string;
+    hashes[slot] = hash;
+    return string;
+  }
+}
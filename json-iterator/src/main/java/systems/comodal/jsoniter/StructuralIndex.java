@@ -0,0 +1,127 @@
+package systems.comodal.jsoniter;
+
+import java.util.Arrays;
+
+/**
+ * Stage one of two stage parsing, indexes the positions of the structural characters {@code { } [ ] : ,} and of
+ * opening quotes, skipping over string contents.  The entry of each open bracket also records the entry of its
+ * matching close bracket, or {@link #UNMATCHED} if the document is unbalanced.
+ */
+final class StructuralIndex {
+
+  static final int NONE = -1;
+  static final int UNMATCHED = -2;
+  static final int CLOSE = -3;
+
+  private int[] positions;
+  private int[] matches;
+  private int[] stack;
+  private int size;
+
+  StructuralIndex(final int capacity) {
+    this.positions = new int[capacity];
+    this.matches = new int[capacity];
+    this.stack = new int[32];
+  }
+
+  int size() {
+    return size;
+  }
+
+  int position(final int entry) {
+    return positions[entry];
+  }
+
+  int match(final int entry) {
+    return matches[entry];
+  }
+
+  private void add(final int position, final int match) {
+    if (size == positions.length) {
+      final int capacity = Math.max(16, size << 1);
+      positions = Arrays.copyOf(positions, capacity);
+      matches = Arrays.copyOf(matches, capacity);
+    }
+    positions[size] = position;
+    matches[size++] = match;
+  }
+
+  static int endOfString(final byte[] buf, int i, final int to) {
+    for (byte c; ; ) {
+      if (BytesJsonIterator.VECTORIZED) {
+        i = VectorScanner.indexOfQuoteOrEscape(buf, i, to);
+      }
+      for (; ; ++i) {
+        if (i >= to) {
+          return to;
+        } else if ((c = buf[i]) == '"') {
+          return i;
+        } else if (c == '\\') {
+          i += 2;
+          break;
+        }
+      }
+    }
+  }
+
+  StructuralIndex index(final byte[] buf, final int from, final int to) {
+    size = 0;
+    int depth = 0;
+    for (int i = from; i < to; ++i) {
+      switch (buf[i]) {
+        case '"' -> {
+          add(i, NONE);
+          i = endOfString(buf, i + 1, to);
+        }
+        case ':', ',' -> add(i, NONE);
+        case '{', '[' -> {
+          if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth << 1);
+          }
+          stack[depth++] = size;
+          add(i, UNMATCHED);
+        }
+        case '}', ']' -> {
+          if (depth > 0) {
+            final int open = stack[--depth];
+            if (buf[positions[open]] == (buf[i] == '}' ? '{' : '[')) {
+              matches[open] = size;
+            }
+          }
+          add(i, CLOSE);
+        }
+        default -> {
+        }
+      }
+    }
+    return this;
+  }
+
+  /**
+   * @return the entry of the structural character at position, or a negative value if it is not indexed.
+   */
+  int entry(final int position) {
+    return Arrays.binarySearch(positions, 0, size, position);
+  }
+
+  /**
+   * @return the entry of the close bracket of the innermost container enclosing position, or a negative value if
+   * the document is unbalanced.
+   */
+  int enclosingClose(final int position) {
+    int entry = entry(position);
+    if (entry < 0) {
+      entry = -entry - 1;
+    }
+    for (int match; entry < size; ) {
+      if ((match = matches[entry]) >= 0) {
+        entry = match + 1;
+      } else if (match == NONE) {
+        ++entry;
+      } else {
+        return match == CLOSE ? entry : UNMATCHED;
+      }
+    }
+    return UNMATCHED;
+  }
+}
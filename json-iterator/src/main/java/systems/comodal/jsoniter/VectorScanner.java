@@ -0,0 +1,88 @@
+package systems.comodal.jsoniter;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scans whole vectors of the preferred species.  Must only be loaded if the jdk.incubator.vector module is present,
+ * see {@link BytesJsonIterator#VECTORIZED}.
+ * <p>
+ * Each method returns the index of the first match or the start of the trailing partial vector, all bytes before
+ * the returned index are known not to match. Callers continue scanning from the returned index.
+ */
+final class VectorScanner {
+
+  private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+  static final int LANES = SPECIES.length();
+
+  private VectorScanner() {
+  }
+
+  /**
+   * SWAR already covers 8 bytes per step, only use vectors if they are wider.
+   */
+  static boolean isSupported() {
+    return SPECIES.vectorBitSize() > Long.SIZE;
+  }
+
+  private static int firstTrue(final int i, final VectorMask<Byte> mask) {
+    return i + mask.firstTrue();
+  }
+
+  /**
+   * @return the index of the first quote, backslash or byte of a multi-byte char.
+   */
+  static int indexOfQuoteEscapeOrMultiByte(final byte[] buf, int i, final int tail) {
+    for (final int bound = tail - LANES; i <= bound; i += LANES) {
+      final var v = ByteVector.fromArray(SPECIES, buf, i);
+      final var mask = v.eq((byte) '"').or(v.eq((byte) '\\')).or(v.lt((byte) 0));
+      if (mask.anyTrue()) {
+        return firstTrue(i, mask);
+      }
+    }
+    return i;
+  }
+
+  /**
+   * @return the index of the first quote or backslash.
+   */
+  static int indexOfQuoteOrEscape(final byte[] buf, int i, final int tail) {
+    for (final int bound = tail - LANES; i <= bound; i += LANES) {
+      final var v = ByteVector.fromArray(SPECIES, buf, i);
+      final var mask = v.eq((byte) '"').or(v.eq((byte) '\\'));
+      if (mask.anyTrue()) {
+        return firstTrue(i, mask);
+      }
+    }
+    return i;
+  }
+
+  /**
+   * @return the index of the first byte which is not JSON whitespace.
+   */
+  static int indexOfNonWhitespace(final byte[] buf, int i, final int tail) {
+    for (final int bound = tail - LANES; i <= bound; i += LANES) {
+      final var v = ByteVector.fromArray(SPECIES, buf, i);
+      final var mask = v.eq((byte) ' ').or(v.eq((byte) '\n')).or(v.eq((byte) '\r')).or(v.eq((byte) '\t')).not();
+      if (mask.anyTrue()) {
+        return firstTrue(i, mask);
+      }
+    }
+    return i;
+  }
+
+  /**
+   * @return the index of the first quote, open or close byte.
+   */
+  static int indexOfQuoteOrNesting(final byte[] buf, int i, final int tail, final byte open, final byte close) {
+    for (final int bound = tail - LANES; i <= bound; i += LANES) {
+      final var v = ByteVector.fromArray(SPECIES, buf, i);
+      final var mask = v.eq((byte) '"').or(v.eq(open)).or(v.eq(close));
+      if (mask.anyTrue()) {
+        return firstTrue(i, mask);
+      }
+    }
+    return i;
+  }
+}
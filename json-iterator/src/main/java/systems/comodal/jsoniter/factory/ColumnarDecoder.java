@@ -0,0 +1,210 @@
+package systems.comodal.jsoniter.factory;
+
+import systems.comodal.jsoniter.ContextFieldBufferMaskedPredicate;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.util.Arrays;
+
+import static systems.comodal.jsoniter.JsonIterator.fieldEquals;
+
+/**
+ * Decodes arrays of flat objects into primitive column arrays, one per declared field, instead of an object per
+ * row.  Fields which are missing or null in a row take the default value of their column, undeclared fields are
+ * skipped.
+ * <p>
+ * Column arrays grow as needed and are reused by subsequent calls to {@link #decode(JsonIterator)}, only the first
+ * {@link #rows()} elements are valid.  Instances are not thread safe.
+ */
+public final class ColumnarDecoder implements ContextFieldBufferMaskedPredicate<ColumnarDecoder> {
+
+  // A mask with all 64 bits set is reserved for BREAK_OUT.
+  private static final int MAX_COLUMNS = Long.SIZE - 1;
+  private static final int INT = 0;
+  private static final int LONG = 1;
+  private static final int DOUBLE = 2;
+
+  private String[] fields;
+  private int[] types;
+  private long[] defaults;
+  private Object[] columns;
+  private int numColumns;
+  private int capacity;
+  private int rows;
+  private int nextColumn;
+  private long rowMask;
+
+  private ColumnarDecoder(final int initialCapacity) {
+    this.fields = new String[8];
+    this.types = new int[8];
+    this.defaults = new long[8];
+    this.columns = new Object[8];
+    this.capacity = Math.max(1, initialCapacity);
+  }
+
+  public static ColumnarDecoder create(final int initialCapacity) {
+    return new ColumnarDecoder(initialCapacity);
+  }
+
+  public static ColumnarDecoder create() {
+    return create(64);
+  }
+
+  private ColumnarDecoder addColumn(final String field, final int type, final long defaultBits, final Object column) {
+    if (numColumns == MAX_COLUMNS) {
+      throw new IllegalStateException("At most " + MAX_COLUMNS + " columns are supported.");
+    } else if (column(field) >= 0) {
+      throw new IllegalArgumentException("Duplicate column " + field);
+    } else if (numColumns == fields.length) {
+      final int length = numColumns << 1;
+      fields = Arrays.copyOf(fields, length);
+      types = Arrays.copyOf(types, length);
+      defaults = Arrays.copyOf(defaults, length);
+      columns = Arrays.copyOf(columns, length);
+    }
+    fields[numColumns] = field;
+    types[numColumns] = type;
+    defaults[numColumns] = defaultBits;
+    columns[numColumns++] = column;
+    return this;
+  }
+
+  public ColumnarDecoder intColumn(final String field, final int defaultValue) {
+    return addColumn(field, INT, defaultValue, new int[capacity]);
+  }
+
+  public ColumnarDecoder intColumn(final String field) {
+    return intColumn(field, 0);
+  }
+
+  public ColumnarDecoder longColumn(final String field, final long defaultValue) {
+    return addColumn(field, LONG, defaultValue, new long[capacity]);
+  }
+
+  public ColumnarDecoder longColumn(final String field) {
+    return longColumn(field, 0);
+  }
+
+  public ColumnarDecoder doubleColumn(final String field, final double defaultValue) {
+    return addColumn(field, DOUBLE, Double.doubleToRawLongBits(defaultValue), new double[capacity]);
+  }
+
+  public ColumnarDecoder doubleColumn(final String field) {
+    return doubleColumn(field, Double.NaN);
+  }
+
+  private int column(final String field) {
+    for (int i = 0; i < numColumns; ++i) {
+      if (fields[i].equals(field)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private Object column(final String field, final int type) {
+    final int column = column(field);
+    if (column < 0) {
+      throw new IllegalArgumentException("No column " + field);
+    } else if (types[column] != type) {
+      throw new IllegalArgumentException("Column " + field + " is not of the requested type.");
+    }
+    return columns[column];
+  }
+
+  public int[] ints(final String field) {
+    return (int[]) column(field, INT);
+  }
+
+  public long[] longs(final String field) {
+    return (long[]) column(field, LONG);
+  }
+
+  public double[] doubles(final String field) {
+    return (double[]) column(field, DOUBLE);
+  }
+
+  /**
+   * @return the number of rows decoded by the last call to {@link #decode(JsonIterator)}.
+   */
+  public int rows() {
+    return rows;
+  }
+
+  private void grow() {
+    capacity <<= 1;
+    for (int i = 0; i < numColumns; ++i) {
+      columns[i] = switch (types[i]) {
+        case INT -> Arrays.copyOf((int[]) columns[i], capacity);
+        case LONG -> Arrays.copyOf((long[]) columns[i], capacity);
+        default -> Arrays.copyOf((double[]) columns[i], capacity);
+      };
+    }
+  }
+
+  private void setDefault(final int column, final int row) {
+    final long bits = defaults[column];
+    switch (types[column]) {
+      case INT -> ((int[]) columns[column])[row] = (int) bits;
+      case LONG -> ((long[]) columns[column])[row] = bits;
+      default -> ((double[]) columns[column])[row] = Double.longBitsToDouble(bits);
+    }
+  }
+
+  /**
+   * Decodes the next array of objects, replacing the rows of any previous call.  A null value decodes to zero rows.
+   *
+   * @return the number of rows.
+   */
+  public int decode(final JsonIterator ji) {
+    rows = 0;
+    final long allColumns = (1L << numColumns) - 1;
+    while (ji.readArray()) {
+      if (rows == capacity) {
+        grow();
+      }
+      rowMask = 0;
+      nextColumn = 0;
+      ji.testObject(this, this);
+      for (long missing = ~rowMask & allColumns; missing != 0; missing &= missing - 1) {
+        setDefault(Long.numberOfTrailingZeros(missing), rows);
+      }
+      ++rows;
+    }
+    return rows;
+  }
+
+  private void readValue(final int column, final JsonIterator ji) {
+    if (ji.readNull()) {
+      setDefault(column, rows);
+      return;
+    }
+    switch (types[column]) {
+      case INT -> ((int[]) columns[column])[rows] = ji.readInt();
+      case LONG -> ((long[]) columns[column])[rows] = ji.readLong();
+      default -> ((double[]) columns[column])[rows] = ji.readDouble();
+    }
+  }
+
+  @Override
+  public long test(final ColumnarDecoder context,
+                   final long mask,
+                   final char[] buf,
+                   final int offset,
+                   final int len,
+                   final JsonIterator ji) {
+    // Rows usually repeat the same field order, so start matching after the previously matched column.
+    for (int i = 0, column = nextColumn; i < numColumns; ++i) {
+      if (fieldEquals(fields[column], buf, offset, len)) {
+        readValue(column, ji);
+        rowMask |= 1L << column;
+        nextColumn = column + 1 == numColumns ? 0 : column + 1;
+        return rowMask;
+      }
+      if (++column == numColumns) {
+        column = 0;
+      }
+    }
+    ji.skip();
+    return mask;
+  }
+}
@@ -2,10 +2,13 @@ package systems.comodal.jsoniter.factory;
 
 import systems.comodal.jsoniter.CharBufferFunction;
 import systems.comodal.jsoniter.FieldBufferPredicate;
+import systems.comodal.jsoniter.JsonArrayChunks;
 import systems.comodal.jsoniter.JsonIterator;
 import systems.comodal.jsoniter.ValueType;
 
+import java.lang.foreign.MemorySegment;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -46,5 +49,39 @@ public interface ElementFactory<T> extends FieldBufferPredicate {
     }
   }
 
+  /**
+   * Splits a top level array of objects into chunks of whole elements, and parses the chunks in parallel with an
+   * iterator per chunk.
+   *
+   * @return a fixed-size list of the elements in array order.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> List<T> parseListParallel(final JsonArrayChunks chunks,
+                                       final Supplier<? extends ElementFactory<T>> objectParserSupplier) {
+    final int numChunks = chunks.numChunks();
+    final int[] offsets = new int[numChunks];
+    int numElements = 0;
+    for (int i = 0; i < numChunks; ++i) {
+      offsets[i] = numElements;
+      numElements += chunks.numElements(i);
+    }
+    if (numElements == 0) {
+      return List.of();
+    }
+    final var elements = new Object[numElements];
+    new ParallelListTask<>(chunks, objectParserSupplier, elements, offsets, 0, numChunks).invoke();
+    return (List<T>) Arrays.asList(elements);
+  }
+
+  static <T> List<T> parseListParallel(final byte[] buf,
+                                       final Supplier<? extends ElementFactory<T>> objectParserSupplier) {
+    return parseListParallel(JsonArrayChunks.split(buf), objectParserSupplier);
+  }
+
+  static <T> List<T> parseListParallel(final MemorySegment segment,
+                                       final Supplier<? extends ElementFactory<T>> objectParserSupplier) {
+    return parseListParallel(JsonArrayChunks.split(segment), objectParserSupplier);
+  }
+
   T create();
 }
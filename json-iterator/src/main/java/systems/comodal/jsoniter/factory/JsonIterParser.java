@@ -4,6 +4,7 @@ import systems.comodal.jsoniter.JsonIterator;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 
 public interface JsonIterParser<T> {
 
@@ -21,6 +22,12 @@ public interface JsonIterParser<T> {
     return parse(JsonIterator.parse(buf, head, tail));
   }
 
+  default T parse(final Path path) throws IOException {
+    try (final var ji = JsonIterator.parse(path)) {
+      return parse(ji);
+    }
+  }
+
   default T parse(final String str) throws IOException {
     return parse(JsonIterator.parse(str));
   }
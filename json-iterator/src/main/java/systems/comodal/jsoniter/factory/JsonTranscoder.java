@@ -0,0 +1,163 @@
+package systems.comodal.jsoniter.factory;
+
+import systems.comodal.jsoniter.BytesFunction;
+import systems.comodal.jsoniter.ContextFieldBytesPredicate;
+import systems.comodal.jsoniter.JsonIterator;
+import systems.comodal.jsoniter.JsonWriter;
+import systems.comodal.jsoniter.ValueType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static systems.comodal.jsoniter.JsonIterator.fieldEquals;
+
+/**
+ * Streams a JSON document from a {@link JsonIterator} to a {@link JsonWriter}, removing or rewriting the values of
+ * selected paths.  Values which contain no selected path are copied byte for byte with
+ * {@link JsonIterator#applyRawValue(BytesFunction)}, so only the current path is held in memory and whitespace is
+ * preserved within copied values.
+ * <p>
+ * Paths are dot separated field names, e.g. "data.price".  Array elements share the path of their array, so
+ * "data.price" also selects the price of every object in a data array.  Use a writer over an OutputStream or
+ * ByteBuffer to stream the output.  Instances are not thread safe.
+ */
+public final class JsonTranscoder {
+
+  private static final class PathNode {
+
+    private byte[][] fields;
+    private PathNode[] children;
+    private int numChildren;
+    private boolean remove;
+    private ValueRewriter rewriter;
+
+    private PathNode child(final byte[] buf, final int offset, final int len) {
+      for (int i = 0; i < numChildren; ++i) {
+        if (fieldEquals(fields[i], buf, offset, len)) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+
+    private PathNode addChild(final byte[] field) {
+      for (int i = 0; i < numChildren; ++i) {
+        if (Arrays.equals(fields[i], field)) {
+          return children[i];
+        }
+      }
+      if (fields == null) {
+        fields = new byte[4][];
+        children = new PathNode[4];
+      } else if (numChildren == fields.length) {
+        fields = Arrays.copyOf(fields, numChildren << 1);
+        children = Arrays.copyOf(children, numChildren << 1);
+      }
+      final var child = new PathNode();
+      fields[numChildren] = field;
+      children[numChildren++] = child;
+      return child;
+    }
+  }
+
+  private final PathNode root;
+  private final BytesFunction<JsonWriter> copyRawValue;
+  private final ContextFieldBytesPredicate<PathNode> transcodeField;
+  private JsonWriter writer;
+
+  private JsonTranscoder() {
+    this.root = new PathNode();
+    this.copyRawValue = (buf, from, to) -> writer.writeRawValue(buf, from, to);
+    this.transcodeField = this::transcodeField;
+  }
+
+  public static JsonTranscoder create() {
+    return new JsonTranscoder();
+  }
+
+  private PathNode addPath(final String path) {
+    if (path.isEmpty()) {
+      throw new IllegalArgumentException("Path must not be empty.");
+    }
+    var node = root;
+    for (final var field : path.split("\\.", -1)) {
+      if (node.remove || node.rewriter != null) {
+        throw new IllegalArgumentException("Path " + path + " is within a removed or rewritten path.");
+      }
+      node = node.addChild(field.getBytes(StandardCharsets.UTF_8));
+    }
+    if (node.remove || node.rewriter != null || node.numChildren > 0) {
+      throw new IllegalArgumentException("Duplicate or overlapping path " + path);
+    }
+    return node;
+  }
+
+  /**
+   * Drops the fields at path, including their names.
+   */
+  public JsonTranscoder remove(final String path) {
+    addPath(path).remove = true;
+    return this;
+  }
+
+  /**
+   * Replaces the values at path with whatever the rewriter writes.
+   */
+  public JsonTranscoder rewrite(final String path, final ValueRewriter rewriter) {
+    addPath(path).rewriter = rewriter;
+    return this;
+  }
+
+  /**
+   * Transcodes the next value of ji to writer.  The writer is neither flushed nor closed.
+   */
+  public void transcode(final JsonIterator ji, final JsonWriter writer) {
+    this.writer = writer;
+    try {
+      transcode(root, ji);
+    } finally {
+      this.writer = null;
+    }
+  }
+
+  private void transcode(final PathNode node, final JsonIterator ji) {
+    if (node.rewriter != null) {
+      node.rewriter.rewrite(ji, writer);
+    } else if (node.numChildren == 0) {
+      ji.applyRawValue(copyRawValue);
+    } else {
+      final var valueType = ji.whatIsNext();
+      if (valueType == ValueType.OBJECT) {
+        writer.openObject();
+        ji.testObjectBytes(node, transcodeField);
+        writer.closeObject();
+      } else if (valueType == ValueType.ARRAY) {
+        writer.openArray();
+        while (ji.readArray()) {
+          transcode(node, ji);
+        }
+        writer.closeArray();
+      } else {
+        ji.applyRawValue(copyRawValue);
+      }
+    }
+  }
+
+  private boolean transcodeField(final PathNode node,
+                                 final byte[] buf,
+                                 final int offset,
+                                 final int len,
+                                 final JsonIterator ji) {
+    final var child = node.child(buf, offset, len);
+    if (child == null) {
+      writer.writeField(buf, offset, len);
+      ji.applyRawValue(copyRawValue);
+    } else if (child.remove) {
+      ji.skip();
+    } else {
+      writer.writeField(buf, offset, len);
+      transcode(child, ji);
+    }
+    return true;
+  }
+}
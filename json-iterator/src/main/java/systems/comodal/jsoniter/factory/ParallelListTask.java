@@ -0,0 +1,53 @@
+package systems.comodal.jsoniter.factory;
+
+import systems.comodal.jsoniter.JsonArrayChunks;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+final class ParallelListTask<T> extends RecursiveAction {
+
+  private final JsonArrayChunks chunks;
+  private final Supplier<? extends ElementFactory<T>> objectParserSupplier;
+  private final Object[] elements;
+  private final int[] offsets;
+  private final int from;
+  private final int to;
+
+  ParallelListTask(final JsonArrayChunks chunks,
+                   final Supplier<? extends ElementFactory<T>> objectParserSupplier,
+                   final Object[] elements,
+                   final int[] offsets,
+                   final int from,
+                   final int to) {
+    this.chunks = chunks;
+    this.objectParserSupplier = objectParserSupplier;
+    this.elements = elements;
+    this.offsets = offsets;
+    this.from = from;
+    this.to = to;
+  }
+
+  private void parseChunk(final int chunk) {
+    final var ji = chunks.iterator(chunk);
+    for (int i = offsets[chunk], end = i + chunks.numElements(chunk); i < end; ++i) {
+      ji.readArray();
+      final var parser = objectParserSupplier.get();
+      ji.testObject(parser);
+      elements[i] = parser.create();
+    }
+  }
+
+  @Override
+  protected void compute() {
+    if (to - from == 1) {
+      parseChunk(from);
+    } else {
+      final int mid = (from + to) >>> 1;
+      invokeAll(
+          new ParallelListTask<>(chunks, objectParserSupplier, elements, offsets, from, mid),
+          new ParallelListTask<>(chunks, objectParserSupplier, elements, offsets, mid, to)
+      );
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package systems.comodal.jsoniter.factory;
+
+import systems.comodal.jsoniter.JsonIterator;
+import systems.comodal.jsoniter.JsonWriter;
+
+@FunctionalInterface
+public interface ValueRewriter {
+
+  /**
+   * Must read exactly one value from the iterator and write exactly one value to the writer.
+   */
+  void rewrite(final JsonIterator ji, final JsonWriter writer);
+}
@@ -4,6 +4,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import systems.comodal.jsoniter.factories.JsonIteratorFactory;
 
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 final class TestArray {
@@ -114,4 +117,41 @@ final class TestArray {
     assertEquals(5, ji.readInt());
     assertFalse(ji.readArray());
   }
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_primitive_arrays(final JsonIteratorFactory factory) {
+    final var ints = IntStream.range(-500, 500).map(i -> i * 1_000_003).toArray();
+    final var json = IntStream.of(ints).mapToObj(i -> i % 7 == 0 ? "\"" + i + '"' : Integer.toString(i))
+        .collect(Collectors.joining(", ", "[", " ]"));
+    assertArrayEquals(ints, factory.create(json).readIntArray());
+    assertArrayEquals(IntStream.of(ints).asLongStream().toArray(), factory.create(json).readLongArray());
+    assertArrayEquals(IntStream.of(ints).asDoubleStream().toArray(), factory.create(json).readDoubleArray());
+
+    var ji = factory.create("{\"a\": [ ], \"b\": null, \"c\": [9007199254740993, -1], \"d\": [1.5, 2e3, -0.25], \"e\": 7}");
+    assertEquals(0, ji.skipUntil("a").readIntArray().length);
+    assertNull(ji.skipUntil("b").readLongArray());
+    assertArrayEquals(new long[]{9007199254740993L, -1}, ji.skipUntil("c").readLongArray());
+    assertArrayEquals(new double[]{1.5, 2e3, -0.25}, ji.skipUntil("d").readDoubleArray());
+    assertEquals(7, ji.skipUntil("e").readInt());
+
+    final var filled = new int[ints.length + 2];
+    assertEquals(ints.length, factory.create(json).readIntArray(filled, 2));
+    for (int i = 0; i < ints.length; ++i) {
+      assertEquals(ints[i], filled[i + 2]);
+    }
+    final var longs = new long[2];
+    assertEquals(0, factory.create("null").readLongArray(longs, 0));
+    assertEquals(0, factory.create("[]").readLongArray(longs, 0));
+    final var doubles = new double[2];
+    assertEquals(2, factory.create("[1.5, 2]").readDoubleArray(doubles, 0));
+    assertArrayEquals(new double[]{1.5, 2}, doubles);
+    assertThrows(JsonException.class, () -> factory.create("[1, 2, 3]").readIntArray(new int[3], 1));
+    assertThrows(JsonException.class, () -> factory.create("[1]").readIntArray(new int[3], 4));
+    assertThrows(JsonException.class, () -> factory.create("[]").readLongArray(longs, -1));
+    assertThrows(JsonException.class, () -> factory.create("null").readDoubleArray(doubles, 3));
+    assertEquals(0, factory.create("[]").readDoubleArray(doubles, 2));
+    assertThrows(JsonException.class, () -> factory.create("[1 2]").readIntArray());
+    assertThrows(JsonException.class, () -> factory.create("{}").readDoubleArray());
+  }
 }
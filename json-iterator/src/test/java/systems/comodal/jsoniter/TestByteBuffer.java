@@ -0,0 +1,51 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestByteBuffer {
+
+  @Test
+  void test_position_and_limit() {
+    final var json = "xx{\"hello\": \"world\", \"n\": 1}yy".getBytes();
+    for (final var buffer : new ByteBuffer[]{
+        ByteBuffer.wrap(json),
+        ByteBuffer.allocateDirect(json.length).put(json).flip()}) {
+      buffer.position(2).limit(json.length - 2);
+      final var ji = JsonIterator.parse(buffer);
+      assertEquals("hello", ji.readObjField());
+      assertEquals("world", ji.readString());
+      assertEquals("n", ji.readObjField());
+      assertEquals(1, ji.readInt());
+      assertNull(ji.readObjField());
+      assertEquals(2, buffer.position());
+      assertEquals(json.length - 2, buffer.limit());
+    }
+  }
+
+  @Test
+  void test_reset() {
+    final var ji = JsonIterator.parse(ByteBuffer.wrap("\"hello\"".getBytes()));
+    assertEquals("hello", ji.readString());
+    final var direct = ByteBuffer.allocateDirect(16).put("[1,2]".getBytes()).flip();
+    assertSame(ji, ji.reset(direct));
+    assertTrue(ji.readArray());
+    assertEquals(1, ji.readInt());
+    final int mark = ji.mark();
+    assertTrue(ji.readArray());
+    assertEquals(2, ji.readInt());
+    ji.reset(mark);
+    assertTrue(ji.readArray());
+    assertEquals(2, ji.readInt());
+    assertFalse(ji.readArray());
+  }
+
+  @Test
+  void test_read_only_buffer() {
+    final var ji = JsonIterator.parse(ByteBuffer.wrap("{\"data\": \"0123456789abcdef0123456789\"}".getBytes()).asReadOnlyBuffer());
+    assertEquals("0123456789abcdef0123456789", ji.skipUntil("data").readString());
+  }
+}
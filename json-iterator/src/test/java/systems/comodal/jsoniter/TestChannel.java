@@ -0,0 +1,58 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestChannel {
+
+  private static ReadableByteChannel toChannel(final String json) {
+    return Channels.newChannel(new ByteArrayInputStream(json.getBytes()));
+  }
+
+  @Test
+  void test_remaining_buffer_is_read_first() {
+    final var buf = ByteBuffer.allocateDirect(16).put("{\"hello\": \"".getBytes()).flip();
+    final var ji = JsonIterator.parse(toChannel("world\", \"n\": 123456789}"), buf);
+    assertFalse(ji.supportsMarkReset());
+    assertEquals("hello", ji.readObjField());
+    assertEquals("world", ji.readString());
+    assertEquals("n", ji.readObjField());
+    assertEquals(123456789, ji.readInt());
+    assertNull(ji.readObjField());
+  }
+
+  @Test
+  void test_reset() {
+    final var ji = JsonIterator.parse(toChannel("\"hello\""), 4);
+    assertEquals("hello", ji.readString());
+    assertSame(ji, ji.reset(toChannel("[1, 2]")));
+    assertTrue(ji.readArray());
+    assertEquals(1, ji.readInt());
+    assertTrue(ji.readArray());
+    assertEquals(2, ji.readInt());
+    assertFalse(ji.readArray());
+    assertThrows(UnsupportedOperationException.class, ji::mark);
+  }
+
+  @Test
+  void test_file_channel() throws IOException {
+    final var file = Files.createTempFile("json-iterator", ".json");
+    try {
+      Files.writeString(file, "{\"hello\": \"world\", \"numbers\": [1, 2, 3], \"last\": true}");
+      try (final var ji = JsonIterator.parse(FileChannel.open(file), ByteBuffer.allocateDirect(8).limit(0))) {
+        assertTrue(ji.skipUntil("last").readBoolean());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import systems.comodal.jsoniter.factories.JsonIteratorFactory;
+import systems.comodal.jsoniter.factory.ColumnarDecoder;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestColumnarDecoder {
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_columns(final JsonIteratorFactory factory) {
+    final var decoder = ColumnarDecoder.create(4)
+        .doubleColumn("p")
+        .longColumn("q")
+        .longColumn("t", -1)
+        .intColumn("side");
+
+    final int numRows = 1_000;
+    final var json = IntStream.range(0, numRows)
+        .mapToObj(i -> i % 3 == 0
+            ? String.format("{\"t\": %d, \"x\": {\"p\": 0}, \"q\": \"%d\", \"p\": %d.25}", 1_700_000_000_000L + i, i, i)
+            : String.format("{\"p\": %d.25, \"q\": %d, \"t\": %d, \"side\": %d}", i, i, 1_700_000_000_000L + i, i & 1))
+        .collect(Collectors.joining(",", "[", "]"));
+    assertEquals(numRows, decoder.decode(factory.create(json)));
+    assertEquals(numRows, decoder.rows());
+    final double[] p = decoder.doubles("p");
+    final long[] q = decoder.longs("q");
+    final long[] t = decoder.longs("t");
+    final int[] side = decoder.ints("side");
+    assertTrue(p.length >= numRows);
+    for (int i = 0; i < numRows; ++i) {
+      assertEquals(i + 0.25, p[i]);
+      assertEquals(i, q[i]);
+      assertEquals(1_700_000_000_000L + i, t[i]);
+      assertEquals(i % 3 == 0 ? 0 : i & 1, side[i]);
+    }
+
+    // Reused with fewer rows, missing and null fields take the column defaults.
+    final var ji = factory.create("{\"a\": [{\"q\": 7, \"t\": null}, {\"p\": null, \"side\": 3}, {}], \"b\": null, \"c\": []}");
+    assertEquals(3, decoder.decode(ji.skipUntil("a")));
+    assertTrue(Double.isNaN(decoder.doubles("p")[0]));
+    assertEquals(7, decoder.longs("q")[0]);
+    assertEquals(-1, decoder.longs("t")[0]);
+    assertEquals(0, decoder.ints("side")[0]);
+    assertTrue(Double.isNaN(decoder.doubles("p")[1]));
+    assertEquals(0, decoder.longs("q")[1]);
+    assertEquals(3, decoder.ints("side")[1]);
+    assertEquals(-1, decoder.longs("t")[2]);
+    assertEquals(0, decoder.decode(ji.skipUntil("b")));
+    assertEquals(0, decoder.decode(ji.skipUntil("c")));
+
+    assertThrows(IllegalArgumentException.class, () -> decoder.ints("p"));
+    assertThrows(IllegalArgumentException.class, () -> decoder.longs("missing"));
+    assertThrows(IllegalArgumentException.class, () -> decoder.intColumn("q"));
+  }
+}
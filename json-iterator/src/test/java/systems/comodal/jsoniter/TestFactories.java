@@ -3,14 +3,19 @@ package systems.comodal.jsoniter;
 import systems.comodal.jsoniter.factories.ByteArray;
 import systems.comodal.jsoniter.factories.ByteArrayInputStream;
 import systems.comodal.jsoniter.factories.CharArray;
+import systems.comodal.jsoniter.factories.DirectByteBuffer;
+import systems.comodal.jsoniter.factories.HeapMemorySegment;
+import systems.comodal.jsoniter.factories.IndexedByteArray;
 import systems.comodal.jsoniter.factories.JsonIteratorFactory;
+import systems.comodal.jsoniter.factories.MarkableInputStream;
+import systems.comodal.jsoniter.factories.ReadableChannel;
 
 import java.util.List;
 
 final class TestFactories {
 
-  private static final List<JsonIteratorFactory> FACTORIES = List.of(ByteArray.INSTANCE, CharArray.INSTANCE, ByteArrayInputStream.INSTANCE);
-  private static final List<JsonIteratorFactory> MARK_FACTORIES = List.of(ByteArray.INSTANCE, CharArray.INSTANCE);
+  private static final List<JsonIteratorFactory> FACTORIES = List.of(ByteArray.INSTANCE, IndexedByteArray.INSTANCE, CharArray.INSTANCE, DirectByteBuffer.INSTANCE, HeapMemorySegment.INSTANCE, ByteArrayInputStream.INSTANCE, MarkableInputStream.INSTANCE, ReadableChannel.INSTANCE);
+  private static final List<JsonIteratorFactory> MARK_FACTORIES = List.of(ByteArray.INSTANCE, IndexedByteArray.INSTANCE, CharArray.INSTANCE, DirectByteBuffer.INSTANCE, HeapMemorySegment.INSTANCE, MarkableInputStream.INSTANCE);
 
   static List<JsonIteratorFactory> factories() {
     return FACTORIES;
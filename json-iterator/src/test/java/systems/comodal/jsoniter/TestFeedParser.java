@@ -0,0 +1,128 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestFeedParser {
+
+  private static void feed(final JsonFeedParser parser, final byte[] json, final int chunkSize) {
+    for (int i = 0; i < json.length; i += chunkSize) {
+      parser.feed(json, i, Math.min(chunkSize, json.length - i));
+    }
+    parser.endOfInput();
+  }
+
+  @Test
+  void test_top_level_values() {
+    final var json = "{\"hello\": \"wo\\\"rld}\", \"nested\": {\"a\": [1, {\"b\": \"]\"}]}}\n\"täst\" 123456789 -1.25e3 true null [1, [2], 3]\n-42".getBytes();
+    for (int chunkSize = 1; chunkSize <= json.length; ++chunkSize) {
+      final var values = new ArrayList<Object>();
+      final var parser = JsonFeedParser.create(ji -> {
+        switch (ji.whatIsNext()) {
+          case OBJECT -> {
+            assertEquals("wo\"rld}", ji.skipUntil("hello").readString());
+            assertEquals("b", ji.skipUntil("nested").skipUntil("a").openArray().skip().continueArray().readObjField());
+            values.add(ji.readString());
+            ji.closeObj().closeArray().closeObj().closeObj();
+          }
+          case STRING -> values.add(ji.readString());
+          case NUMBER -> values.add(ji.readDouble());
+          case BOOLEAN -> values.add(ji.readBoolean());
+          case NULL -> values.add(ji.readNull() ? "null" : "not null");
+          case ARRAY -> {
+            ji.skip();
+            values.add("array");
+          }
+          default -> fail(ji.whatIsNext().name());
+        }
+      });
+      feed(parser, json, chunkSize);
+      assertEquals(List.of("]", "täst", 123456789.0, -1250.0, true, "null", "array", -42.0), values);
+    }
+  }
+
+  @Test
+  void test_large_value_in_small_chunks() {
+    final var element = "{\"id\": 1, \"text\": \"abcdefghijklmnopqrstuvwxyz\"}";
+    final var json = (" [" + String.join(",", Collections.nCopies(10_000, element)) + "] 7").getBytes();
+    final var values = new ArrayList<Object>();
+    final var parser = JsonFeedParser.create(ji -> {
+      if (ji.whatIsNext() == ValueType.ARRAY) {
+        int count = 0;
+        while (ji.readArray()) {
+          assertEquals(1, ji.skipUntil("id").readInt());
+          ji.skipRestOfObject();
+          ++count;
+        }
+        values.add(count);
+      } else {
+        values.add(ji.readInt());
+      }
+    }, 64, 64);
+    feed(parser, json, 61);
+    assertEquals(List.of(10_000, 7), values);
+  }
+
+  @Test
+  void test_array_elements() {
+    final var json = " [ {\"id\": 1}, 2,\"three\" , [4], {\"id\": 5} ] [6]".getBytes();
+    for (int chunkSize = 1; chunkSize <= json.length; ++chunkSize) {
+      final var values = new ArrayList<String>();
+      final var parser = JsonFeedParser.createArrayElements(ji -> values.add(ji.currentBuffer()), 4, 8);
+      feed(parser, json, chunkSize);
+      assertEquals(6, values.size());
+    }
+    final var ids = new ArrayList<Integer>();
+    final var parser = JsonFeedParser.createArrayElements(ji -> ids.add(ji.skipUntil("id").readInt()));
+    parser.feed(ByteBuffer.wrap("[{\"id\": 1}, {\"i".getBytes()));
+    assertEquals(List.of(1), ids);
+    parser.feed(ByteBuffer.wrap("d\": 2}]".getBytes()));
+    assertEquals(List.of(1, 2), ids);
+    parser.endOfInput();
+  }
+
+  @Test
+  void test_incomplete_input() {
+    final var parser = JsonFeedParser.create(ji -> ji.skip());
+    parser.feed("{\"a\": [1, 2".getBytes());
+    assertThrows(JsonException.class, parser::endOfInput);
+    parser.feed("{\"a\": [1, 2]}".getBytes());
+    parser.endOfInput();
+
+    final var arrayParser = JsonFeedParser.createArrayElements(ji -> ji.skip());
+    arrayParser.feed("[1, 2".getBytes());
+    assertThrows(JsonException.class, arrayParser::endOfInput);
+    assertThrows(JsonException.class, () -> arrayParser.feed("{}".getBytes()));
+
+    for (final var trailingComma : List.of("[1,]", "[1, ]", "[\"a\",]", "[{}, [],\n]")) {
+      final var elementParser = JsonFeedParser.createArrayElements(ji -> ji.skip());
+      assertThrows(JsonException.class, () -> elementParser.feed(trailingComma.getBytes()));
+    }
+  }
+
+  @Test
+  void test_long_strings() {
+    final var text = "abc\\\"défgh\\u00e9ijklmnop\\\\\\\"}]qrstuvwxyz0123456789".repeat(20);
+    final var json = ("[\"" + text + "\", {\"s\": \"" + text + "\"}] \"" + text + '"').getBytes();
+    final var expected = JsonIterator.parse('"' + text + '"').readString();
+    for (int chunkSize = 1; chunkSize <= 97; chunkSize += 3) {
+      final var values = new ArrayList<String>();
+      final var parser = JsonFeedParser.create(ji -> {
+        if (ji.whatIsNext() == ValueType.ARRAY) {
+          values.add(ji.openArray().readString());
+          values.add(ji.continueArray().skipUntil("s").readString());
+        } else {
+          values.add(ji.readString());
+        }
+      }, 16, 16);
+      feed(parser, json, chunkSize);
+      assertEquals(List.of(expected, expected, expected), values);
+    }
+  }
+}
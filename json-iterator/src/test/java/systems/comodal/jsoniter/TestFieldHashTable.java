@@ -0,0 +1,90 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import systems.comodal.jsoniter.factories.JsonIteratorFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestFieldHashTable {
+
+  @Test
+  void test_ordinals() {
+    final var fields = new String[]{"", "a", "id", "price", "timestamp", "timestamp_millis", "xéy", "a_sixteen_bytes_"};
+    final var table = FieldHashTable.create(fields);
+    assertEquals(fields.length, table.numFields());
+    for (int i = 0; i < fields.length; ++i) {
+      assertEquals(i, table.ordinal(fields[i]));
+      assertEquals(fields[i], table.field(i));
+      final var padded = ("__" + fields[i] + "__").getBytes(StandardCharsets.UTF_8);
+      final int len = padded.length - 4;
+      assertEquals(FieldHashTable.hash(fields[i]), FieldHashTable.hash(padded, 2, len));
+      assertEquals(i, table.ordinal(FieldHashTable.hash(padded, 2, len), padded, 2, len));
+    }
+    for (final var unknown : new String[]{"b", "ids", "pric", "timestamp_millit", "xey", "a\0"}) {
+      assertEquals(-1, table.ordinal(unknown), unknown);
+    }
+    final var many = IntStream.range(0, 500).mapToObj(i -> "field_" + i).toArray(String[]::new);
+    final var manyTable = FieldHashTable.create(many);
+    for (int i = 0; i < many.length; ++i) {
+      assertEquals(i, manyTable.ordinal(many[i]));
+    }
+    assertEquals(-1, manyTable.ordinal("field_500"));
+    assertEquals(-1, FieldHashTable.create().ordinal("a"));
+    assertThrows(IllegalArgumentException.class, () -> FieldHashTable.create("a", "b", "a"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_scan_hash(final JsonIteratorFactory factory) {
+    final var fields = new String[]{"", "a", "seven77", "eight888", "nine99999", "a_sixteen_bytes_", "préço", "a\"b", "x".repeat(70)};
+    final var json = IntStream.range(0, fields.length)
+        .mapToObj(i -> '"' + fields[i].replace("\"", "\\\"") + "\":" + i)
+        .collect(Collectors.joining(",", "{", "}"));
+    final var ji = factory.create(json);
+    final int[] count = new int[1];
+    ji.testObjectHashed(count, (context, mask, hash, buf, offset, len, jsonIterator) -> {
+      final var field = fields[context[0]];
+      assertEquals(field, new String(buf, offset, len, StandardCharsets.UTF_8));
+      assertEquals(FieldHashTable.hash(field), hash, field);
+      assertEquals(context[0]++, jsonIterator.readInt());
+      return mask;
+    });
+    assertEquals(fields.length, count[0]);
+  }
+
+  private static final FieldHashTable QUOTE_FIELDS = FieldHashTable.create("bid", "ask", "symbol");
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_wide_object(final JsonIteratorFactory factory) {
+    final var json = IntStream.range(0, 200)
+        .mapToObj(i -> switch (i) {
+          case 50 -> "\"ask\": 101.5";
+          case 120 -> "\"symbol\": \"BTC\"";
+          case 199 -> "\"bid\": 100.5";
+          default -> "\"field_" + i + "\": [" + i + ", {\"bid\": 0}]";
+        })
+        .collect(Collectors.joining(",", "{", "}"));
+    final var ji = factory.create(json);
+    final var values = new Object[3];
+    ji.testObjectHashed(values, QUOTE_FIELDS.masked((context, mask, ordinal, jsonIterator) -> {
+      switch (ordinal) {
+        case 0, 1 -> context[ordinal] = jsonIterator.readDouble();
+        case 2 -> context[2] = jsonIterator.readString();
+        default -> {
+          jsonIterator.skip();
+          return mask;
+        }
+      }
+      assertEquals(0, mask & (1L << ordinal));
+      return mask | (1L << ordinal);
+    }));
+    assertArrayEquals(new Object[]{100.5, 101.5, "BTC"}, values);
+  }
+}
@@ -0,0 +1,82 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import systems.comodal.jsoniter.factories.JsonIteratorFactory;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestFieldMatcher {
+
+  @Test
+  void test_ordinals() {
+    final var fields = new String[]{"", "a", "id", "price", "qty", "timestamp", "abxd", "abyd", "bid", "ask", "xéy"};
+    final var matcher = FieldMatcher.create(fields);
+    assertEquals(fields.length, matcher.numFields());
+    for (int i = 0; i < fields.length; ++i) {
+      assertEquals(i, matcher.ordinal(fields[i]));
+      assertEquals(fields[i], matcher.field(i));
+      final var padded = ("__" + fields[i] + "__").toCharArray();
+      assertEquals(i, matcher.ordinal(padded, 2, fields[i].length()));
+    }
+    for (final var unknown : new String[]{"b", "ids", "pric", "abzd", "qtx", "Timestamp", "xey"}) {
+      assertEquals(-1, matcher.ordinal(unknown), unknown);
+    }
+
+    final var many = IntStream.range(0, 500).mapToObj(i -> "field_" + i).toArray(String[]::new);
+    final var manyMatcher = FieldMatcher.create(many);
+    for (int i = 0; i < many.length; ++i) {
+      assertEquals(i, manyMatcher.ordinal(many[i]));
+    }
+    assertEquals(-1, manyMatcher.ordinal("field_500"));
+    assertEquals(-1, FieldMatcher.create().ordinal("a"));
+    assertThrows(IllegalArgumentException.class, () -> FieldMatcher.create("a", "b", "a"));
+  }
+
+  private static void assertOrdinals(final FieldMatcher matcher, final String... fields) {
+    for (int i = 0; i < fields.length; ++i) {
+      assertEquals(i, matcher.ordinal(fields[i]), fields[i]);
+    }
+  }
+
+  @Test
+  void test_hash_collisions() {
+    // Equal length, first, middle and last chars.
+    final var cheapCollision = new String[]{"order_id", "owner_id", "price"};
+    assertOrdinals(FieldMatcher.create(cheapCollision), cheapCollision);
+
+    // "Aa" and "BB" have the same polynomial hash, so both hashes of these fields collide.
+    final var fullCollision = new String[]{"zAa_BBz", "zBB_Aaz", "zAa_Aaz", "zBB_BBz", "id"};
+    final var matcher = FieldMatcher.create(fullCollision);
+    assertOrdinals(matcher, fullCollision);
+    for (final var unknown : new String[]{"zAa_BBy", "zBB_Aa", "", "order_id"}) {
+      assertEquals(-1, matcher.ordinal(unknown), unknown);
+    }
+  }
+
+  private static final FieldMatcher TRADE_FIELDS = FieldMatcher.create("p", "q", "s");
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_object(final JsonIteratorFactory factory) {
+    final var ji = factory.create("{\"s\": \"BTC\", \"x\": [1, {\"p\": 2}], \"p\": 1.5, \"q\": 3}");
+    final var values = new Object[3];
+    ji.testObject(values, TRADE_FIELDS.masked((context, mask, ordinal, jsonIterator) -> {
+      switch (ordinal) {
+        case 0 -> context[0] = jsonIterator.readDouble();
+        case 1 -> context[1] = jsonIterator.readLong();
+        case 2 -> context[2] = jsonIterator.readString();
+        default -> {
+          jsonIterator.skip();
+          return mask;
+        }
+      }
+      assertEquals(0, mask & (1L << ordinal));
+      return mask | (1L << ordinal);
+    }));
+    assertArrayEquals(new Object[]{1.5, 3L, "BTC"}, values);
+  }
+}
@@ -4,13 +4,16 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import systems.comodal.jsoniter.factories.JsonIteratorFactory;
 
+import org.junit.jupiter.api.Test;
+
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static java.math.BigDecimal.ZERO;
 import static java.time.Instant.ofEpochSecond;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 final class TestFloat {
 
@@ -324,4 +327,91 @@ final class TestFloat {
     assertEquals(Double.NaN, factory.create("\"NaN\"").readDouble());
     assertEquals(Float.NaN, factory.create("\"NaN\"").readFloat());
   }
+
+  private static final String[] EDGE_CASES = {
+      "0", "-0", "0.0", "-0.0", "0e10", "1", "-1", "0.1", "0.2", "0.3", "1.7976931348623157e308", "1.7976931348623158e308",
+      "1.8e308", "-1.8e308", "4.9e-324", "2.4703282292062328e-324", "2.4703282292062327e-324", "2.2250738585072011e-308",
+      "2.2250738585072012e-308", "2.2250738585072014e-308", "9007199254740993", "9007199254740992", "9007199254740991",
+      "9223372036854775807", "9999999999999999999", "18446744073709551615", "18446744073709551616",
+      "12345678901234567890", "1.2345678901234567890", "1e22", "1e23", "8.988465674311579e307", "3.4028235e38",
+      "3.4028236e38", "1.4e-45", "7.0e-46", "1.17549435e-38", "16777217", "33554433", "1e-400", "1e400", "1E+2", "12.5e-1",
+      "000123.4500", "0.000000000000000000000000000000001", "7.038531e-26", "1090544144181609348671888949248",
+      "2.5", "3.5", "4.35", "123456789012345678e-20", "5e-324", "1.00000000000000011102230246251565404236316680908203125"
+  };
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_edge_cases(final JsonIteratorFactory factory) {
+    for (final var edgeCase : EDGE_CASES) {
+      assertEquals(Double.doubleToRawLongBits(Double.parseDouble(edgeCase)), Double.doubleToRawLongBits(factory.create(edgeCase).readDouble()), edgeCase);
+      assertEquals(Float.floatToRawIntBits(Float.parseFloat(edgeCase)), Float.floatToRawIntBits(factory.create(edgeCase).readFloat()), edgeCase);
+      final var quoted = '"' + edgeCase + '"';
+      assertEquals(Double.parseDouble(edgeCase), factory.create(quoted).readDouble(), edgeCase);
+      assertEquals(Float.parseFloat(edgeCase), factory.create(quoted).readFloat(), edgeCase);
+    }
+    assertThrows(JsonException.class, () -> factory.create("\"1e\"").readDouble());
+    assertThrows(JsonException.class, () -> factory.create("\"\"").readFloat());
+    assertThrows(JsonException.class, () -> factory.create("null").readDouble());
+  }
+
+  private static void assertParsed(final String number) {
+    final char[] chars = number.toCharArray();
+    assertEquals(Double.doubleToRawLongBits(Double.parseDouble(number)), DoubleParser.parseDoubleBits(chars, 0, chars.length), number);
+    assertEquals(Float.floatToRawIntBits(Float.parseFloat(number)), DoubleParser.parseFloatBits(chars, 0, chars.length), number);
+  }
+
+  @Test
+  void test_random_doubles() {
+    final var random = ThreadLocalRandom.current();
+    for (int i = 0; i < 100_000; ++i) {
+      assertParsed(Double.toString(Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE)));
+      assertParsed(Float.toString(Float.intBitsToFloat(random.nextInt() & Integer.MAX_VALUE)));
+      assertParsed(Double.toString(random.nextDouble() * 1_000_000));
+      final long digits = random.nextLong(1, Long.MAX_VALUE) >>> random.nextInt(63);
+      assertParsed(digits + "e" + random.nextInt(-360, 330));
+      assertParsed("0." + digits + "E-" + random.nextInt(40));
+    }
+  }
+
+  private static final String[] DECIMALS = {
+      "0", "-0", "0.", "0.0", "-0.00", "00.000", "0e5", "0e10", "0.0E-3", "1", "-1", "100", "1000.0", "100.100",
+      "-100.00", "0.045", "123.", "1e10", "1E+2", "1.50e2", "1.50e10", "-12.5e-3", "999999999999999999",
+      "-999999999999999999", "9999999999999999999", "0.000000000000000000123456789012345678", "123456789.123456789",
+      "12345678901234567890.5", "1e999999999", "1e-999999999"
+  };
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_big_numbers(final JsonIteratorFactory factory) {
+    for (final var decimal : DECIMALS) {
+      final char[] chars = decimal.toCharArray();
+      final var expected = new BigDecimal(decimal);
+      assertEquals(expected, factory.create(decimal).readBigDecimal(), decimal);
+      assertEquals(expected, factory.create('"' + decimal + '"').readBigDecimal(), decimal);
+      final var dropped = BigNumberParser.dropTrailingZeroes(chars, 0, chars.length);
+      assertEquals(dropped, factory.create(decimal).readBigDecimalDropZeroes(), decimal);
+      assertEquals(dropped, factory.create('"' + decimal + '"').readBigDecimalDropZeroes(), decimal);
+    }
+    for (final var integer : new String[]{"0", "-0", "123", "-999999999999999999", "9223372036854775808", "-123456789012345678901234567890"}) {
+      assertEquals(new BigInteger(integer), factory.create(integer).readBigInteger(), integer);
+      assertEquals(new BigInteger(integer), factory.create('"' + integer + '"').readBigInteger(), integer);
+    }
+    assertEquals(BigInteger.valueOf(7), factory.create("\"+7\"").readBigInteger());
+    assertEquals(new BigDecimal("+1.50"), factory.create("\"+1.50\"").readBigDecimal());
+    assertThrows(NumberFormatException.class, () -> factory.create("\"1.5\"").readBigInteger());
+    assertThrows(NumberFormatException.class, () -> factory.create("\"1e\"").readBigDecimal());
+  }
+
+  @Test
+  void test_random_big_decimals() {
+    final var random = ThreadLocalRandom.current();
+    for (int i = 0; i < 100_000; ++i) {
+      final var unscaled = BigInteger.valueOf(random.nextLong() >> random.nextInt(64)).multiply(BigInteger.TEN.pow(random.nextInt(4)));
+      final var decimal = new BigDecimal(unscaled, random.nextInt(-4, 24));
+      final var number = random.nextBoolean() ? decimal.toString() : decimal.toPlainString();
+      final char[] chars = number.toCharArray();
+      assertEquals(new BigDecimal(number), BigNumberParser.parseBigDecimal(chars, 0, chars.length, false), number);
+      assertEquals(BigNumberParser.dropTrailingZeroes(chars, 0, chars.length), BigNumberParser.parseBigDecimal(chars, 0, chars.length, true), number);
+    }
+  }
 }
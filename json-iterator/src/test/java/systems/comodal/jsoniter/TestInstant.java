@@ -1,15 +1,25 @@
 package systems.comodal.jsoniter;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import systems.comodal.jsoniter.factories.JsonIteratorFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Random;
 
 import static java.time.format.DateTimeFormatter.ISO_DATE_TIME;
 import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestInstant {
 
@@ -36,4 +46,133 @@ public class TestInstant {
     ji = factory.create('"' + dateTime + '"');
     assertEquals(RFC_1123_DATE_TIME.parse(dateTime, Instant::from), ji.readDateTime());
   }
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void testParseEpochs(final JsonIteratorFactory factory) {
+    final var dateTimes = new String[]{
+        "2018-03-31T13:43:19.82",
+        "2018-03-15T01:23:44.349000Z",
+        "2018-04-07T18:27:12.646Z",
+        "2018-03-31T19:48:23.0752385Z",
+        "2018-03-31T19:48:23.123456789+05:30",
+        "1969-12-31T23:59:59.999999999Z",
+        "1969-12-31T23:59:59.5-01:00",
+        "2019-10-04T16:06:36Z",
+        "Fri, 04 Oct 2019 16:06:36 GMT"
+    };
+    final var json = new StringBuilder("[");
+    for (final var dateTime : dateTimes) {
+      json.append("\"").append(dateTime).append("\",");
+    }
+    json.setCharAt(json.length() - 1, ']');
+
+    var ji = factory.create(json.toString());
+    for (final var dateTime : dateTimes) {
+      assertTrue(ji.readArray());
+      final var expected = readDateTime(factory, dateTime);
+      assertEquals(expected.getEpochSecond(), ji.readDateTimeEpochSeconds(), dateTime);
+    }
+
+    ji = factory.create(json.toString());
+    for (final var dateTime : dateTimes) {
+      assertTrue(ji.readArray());
+      assertEquals(readDateTime(factory, dateTime).toEpochMilli(), ji.readDateTimeEpochMillis(), dateTime);
+    }
+
+    ji = factory.create(json.toString());
+    for (final var dateTime : dateTimes) {
+      assertTrue(ji.readArray());
+      final var expected = readDateTime(factory, dateTime);
+      assertEquals(expected.getEpochSecond() * 1_000_000_000L + expected.getNano(), ji.readDateTimeEpochNanos(), dateTime);
+    }
+    assertFalse(ji.readArray());
+
+    final var escaped = factory.create("\"2018-03-31T19:48:23.5\\tZ\"");
+    assertThrows(DateTimeException.class, escaped::readDateTimeEpochMillis);
+    final var nullDateTime = factory.create("null");
+    assertThrows(JsonException.class, nullDateTime::readDateTimeEpochMillis);
+    final var farFuture = factory.create("\"2263-01-01T00:00:00Z\"");
+    assertThrows(ArithmeticException.class, farFuture::readDateTimeEpochNanos);
+  }
+
+  @Test
+  void testParseInvalidBytes() {
+    final var valid = "2018-03-31T19:48:23.0752385+05:30";
+    final var bytes = valid.getBytes(StandardCharsets.US_ASCII);
+    assertEquals(Instant.parse(valid).getEpochSecond(), InstantParser.parseEpochSecond(bytes, 0, bytes.length));
+    assertEquals(75_238_500, InstantParser.parseNano(bytes, 0, bytes.length));
+    for (final int i : new int[]{0, 3, 8, 12, 18, 20, 22, 24, 26, 29, 32}) {
+      for (final byte b : new byte[]{(byte) 0x80, (byte) 0xFF, 0x7F}) {
+        final var invalid = bytes.clone();
+        invalid[i] = b;
+        assertThrows(DateTimeParseException.class, () -> InstantParser.parseEpochSecond(invalid, 0, invalid.length));
+        final var chars = new String(invalid, StandardCharsets.ISO_8859_1).toCharArray();
+        assertThrows(DateTimeParseException.class, () -> InstantParser.parseEpochSecond(chars, 0, chars.length));
+      }
+    }
+    final var rfc1123 = "Fri, 04 Oct 2019 16:06:36 GMT".getBytes(StandardCharsets.US_ASCII);
+    assertEquals(1570205196L, InstantParser.parseEpochSecond(rfc1123, 0, rfc1123.length));
+    for (final int i : new int[]{5, 9, 13, 18, 21, 24}) {
+      final var invalid = rfc1123.clone();
+      invalid[i] = (byte) 0xB0;
+      assertThrows(DateTimeParseException.class, () -> InstantParser.parseEpochSecond(invalid, 0, invalid.length));
+    }
+    final var trailingDot = "2018-03-31T19:48:23.".getBytes(StandardCharsets.US_ASCII);
+    assertThrows(DateTimeParseException.class, () -> InstantParser.parseEpochSecond(trailingDot, 0, trailingDot.length));
+  }
+
+  private static Instant readDateTime(final JsonIteratorFactory factory, final String dateTime) {
+    return factory.create('"' + dateTime + '"').readDateTime();
+  }
+
+  private static final DateTimeFormatter HTTP_DATE_TIME = DateTimeFormatter
+      .ofPattern("EEE, dd MMM uuuu HH:mm:ss 'GMT'", Locale.US)
+      .withZone(ZoneOffset.UTC);
+
+  @Test
+  void testFormatInstants() {
+    final var iso = InstantFormatter.createIso();
+    final var rfc1123 = InstantFormatter.createRfc1123();
+    final var bytes = new byte[InstantFormatter.MAX_LENGTH + 2];
+    final var chars = new char[InstantFormatter.MAX_LENGTH + 2];
+    final long min = Instant.parse("0000-01-01T00:00:00Z").getEpochSecond();
+    final long max = Instant.parse("9999-12-31T23:59:59Z").getEpochSecond();
+    final var random = new Random(23);
+    long epochSecond = 0;
+    for (int i = 0; i < 100_000; ++i) {
+      // Mostly walk forward within a day to exercise the cached date prefix.
+      epochSecond = (i & 7) == 0
+          ? min + (long) (random.nextDouble() * (max - min))
+          : Math.min(max, epochSecond + random.nextInt(10_000));
+      final int nanos = switch (i & 3) {
+        case 0 -> 0;
+        case 1 -> random.nextInt(1_000) * 1_000_000;
+        case 2 -> random.nextInt(1_000_000) * 1_000;
+        default -> random.nextInt(1_000_000_000);
+      };
+      final var instant = Instant.ofEpochSecond(epochSecond, nanos);
+      final var expected = instant.toString();
+
+      int end = iso.format(epochSecond, nanos, bytes, 1);
+      final var formatted = new String(bytes, 1, end - 1, StandardCharsets.US_ASCII);
+      assertEquals(expected, formatted);
+      end = iso.format(instant, chars, 2);
+      assertEquals(expected, new String(chars, 2, end - 2));
+      assertEquals(instant, JsonIterator.parse('"' + formatted + '"').readDateTime());
+
+      final var expectedHttp = HTTP_DATE_TIME.format(instant);
+      end = rfc1123.format(instant, bytes, 0);
+      assertEquals(expectedHttp, new String(bytes, 0, end, StandardCharsets.US_ASCII));
+      end = rfc1123.format(epochSecond, nanos, chars, 0);
+      assertEquals(expectedHttp, new String(chars, 0, end));
+      assertEquals(Instant.ofEpochSecond(epochSecond), InstantParser.INSTANT_PARSER.apply(chars, 0, end));
+    }
+
+    final long epochMilli = -1;
+    final int end = iso.formatEpochMilli(epochMilli, chars, 0);
+    assertEquals(Instant.ofEpochMilli(epochMilli).toString(), new String(chars, 0, end));
+    assertThrows(DateTimeException.class, () -> iso.format(max + 1, 0, bytes, 0));
+    assertThrows(DateTimeException.class, () -> iso.format(0, -1, bytes, 0));
+  }
 }
@@ -66,6 +66,19 @@ final class TestInteger {
     assertEquals(-9223372036854775808L, factory.create("\"-9223372036854775808\"").readLong());
   }
 
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_number_followed_by_whitespace(final JsonIteratorFactory factory) {
+    assertEquals("123", factory.create("[123 ]").openArray().readNumberAsString());
+    var ji = factory.create("[4321 , -7\t, 8 ]");
+    ji.readArray();
+    assertEquals("4321", ji.readNumberAsString());
+    ji.readArray();
+    assertEquals(-7, ji.readInt());
+    ji.readArray();
+    assertEquals(8L, ji.readLong());
+  }
+
   @ParameterizedTest
   @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
   void test_max_min_int(final JsonIteratorFactory factory) {
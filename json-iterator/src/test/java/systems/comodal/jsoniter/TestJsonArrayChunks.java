@@ -0,0 +1,102 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+import systems.comodal.jsoniter.factory.ElementFactory;
+
+import java.lang.foreign.MemorySegment;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestJsonArrayChunks {
+
+  private static final int NUM_RECORDS = 1_000;
+  private static final byte[] JSON = IntStream.range(0, NUM_RECORDS)
+      .mapToObj(i -> String.format("{\"id\": %d, \"name\": \"[record,\\\\\\\"%d]\", \"tags\": [1, {\"b\": \"}\"}]}", i, i))
+      .collect(Collectors.joining(",\n ", " [", "] ")).getBytes();
+
+  private static final class Record implements ElementFactory<Record> {
+
+    private long id;
+    private String name;
+
+    @Override
+    public boolean test(final char[] buf, final int offset, final int len, final JsonIterator ji) {
+      final var field = new String(buf, offset, len);
+      switch (field) {
+        case "id" -> id = ji.readLong();
+        case "name" -> name = ji.readString();
+        default -> ji.skip();
+      }
+      return true;
+    }
+
+    @Override
+    public Record create() {
+      return this;
+    }
+  }
+
+  private static void assertRecords(final List<Record> records) {
+    assertEquals(NUM_RECORDS, records.size());
+    for (int i = 0; i < NUM_RECORDS; ++i) {
+      final var record = records.get(i);
+      assertEquals(i, record.id);
+      assertEquals("[record,\\\"" + i + ']', record.name);
+    }
+  }
+
+  @Test
+  void test_chunks() {
+    final var chunks = JsonArrayChunks.split(JSON, 0, JSON.length, 256);
+    assertTrue(chunks.numChunks() > 1);
+    assertEquals(NUM_RECORDS, chunks.numElements());
+    final var ji = chunks.iterator(chunks.numChunks() - 1);
+    for (int i = 0, numElements = chunks.numElements(chunks.numChunks() - 1); i < numElements; ++i) {
+      assertTrue(ji.readArray());
+      ji.skip();
+    }
+
+    assertEquals(1, JsonArrayChunks.split("[1, 2, 3]".getBytes()).numChunks());
+    assertEquals(0, JsonArrayChunks.split(" [ ] ".getBytes()).numElements());
+    assertEquals(3, JsonArrayChunks.split("[1,\"a,b\",[2,3]]".getBytes()).numElements());
+  }
+
+  @Test
+  void test_parse_list_parallel() {
+    assertRecords(ElementFactory.parseListParallel(JsonArrayChunks.split(JSON, 0, JSON.length, 256), Record::new));
+    assertRecords(ElementFactory.parseListParallel(JSON, Record::new));
+    assertTrue(ElementFactory.parseListParallel("[]".getBytes(), Record::new).isEmpty());
+
+    final var padded = new byte[JSON.length + 8];
+    System.arraycopy(JSON, 0, padded, 4, JSON.length);
+    assertRecords(ElementFactory.parseListParallel(JsonArrayChunks.split(padded, 4, 4 + JSON.length, 512), Record::new));
+  }
+
+  @Test
+  void test_segment_windows() {
+    final var segment = MemorySegment.ofArray(JSON);
+    assertRecords(ElementFactory.parseListParallel(segment, Record::new));
+    // Odd window sizes split strings and escapes across windows.
+    for (final int window : new int[]{7, 13, 64, 1021}) {
+      final var chunks = JsonArrayChunks.split(segment, 300, window);
+      assertEquals(NUM_RECORDS, chunks.numElements());
+      assertRecords(ElementFactory.parseListParallel(chunks, Record::new));
+    }
+  }
+
+  @Test
+  void test_invalid() {
+    assertThrows(JsonException.class, () -> JsonArrayChunks.split("{\"a\": 1}".getBytes()));
+    assertThrows(JsonException.class, () -> JsonArrayChunks.split("[1, 2".getBytes()));
+    assertThrows(JsonException.class, () -> JsonArrayChunks.split("[\"]".getBytes()));
+    assertThrows(JsonException.class, () -> JsonArrayChunks.split("  ".getBytes()));
+    assertThrows(JsonException.class, () -> JsonArrayChunks.split("[1, 2] 3".getBytes()));
+    assertThrows(JsonException.class, () -> JsonArrayChunks.split("[1, 2]]".getBytes()));
+    assertEquals(2, JsonArrayChunks.split("[1, 2] \n\t".getBytes()).numElements());
+    final var trailing = MemorySegment.ofArray("[1, 2]            x".getBytes());
+    assertThrows(JsonException.class, () -> JsonArrayChunks.split(trailing, 300, 7));
+  }
+}
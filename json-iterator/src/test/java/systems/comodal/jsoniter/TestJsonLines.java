@@ -0,0 +1,65 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestJsonLines {
+
+  private static final int NUM_RECORDS = 1_000;
+  private static final long EXPECTED_SUM = (long) NUM_RECORDS * (NUM_RECORDS - 1) / 2;
+  private static final byte[] JSON_LINES = IntStream.range(0, NUM_RECORDS)
+      .mapToObj(i -> String.format("{\"id\": %d, \"name\": \"record-%d\", \"tags\": [\"a\", {\"b\": \"\\n\"}]}%s", i, i, i % 10 == 0 ? "\r\n\n  \n" : "\n"))
+      .collect(Collectors.joining()).getBytes();
+
+  private static long sumIds(final JsonIterator ji) {
+    final long id = ji.skipUntil("id").readLong();
+    assertEquals("record-" + id, ji.skipUntil("name").readString());
+    ji.skipRestOfObject();
+    return id;
+  }
+
+  @Test
+  void test_byte_array() {
+    assertEquals(NUM_RECORDS, JsonLines.stream(JSON_LINES).count());
+    assertEquals(EXPECTED_SUM, JsonLines.stream(JSON_LINES).mapToLong(TestJsonLines::sumIds).sum());
+    final var spliterator = new BytesLinesSpliterator(JSON_LINES, 0, JSON_LINES.length, 64);
+    assertEquals(EXPECTED_SUM, StreamSupport.stream(spliterator, true).mapToLong(TestJsonLines::sumIds).sum());
+    assertEquals(1, JsonLines.stream("  {\"id\": 0}  ".getBytes()).count());
+  }
+
+  @Test
+  void test_segments() {
+    final var direct = ByteBuffer.allocateDirect(JSON_LINES.length).put(JSON_LINES).flip();
+    assertEquals(EXPECTED_SUM, JsonLines.stream(direct).parallel().mapToLong(TestJsonLines::sumIds).sum());
+    assertEquals(0, direct.position());
+
+    final var segment = MemorySegment.ofArray(JSON_LINES);
+    final var spliterator = new SegmentLinesSpliterator(segment, 0, segment.byteSize(), 64, 256);
+    assertEquals(EXPECTED_SUM, StreamSupport.stream(spliterator, true).mapToLong(TestJsonLines::sumIds).sum());
+
+    final var tooLong = new SegmentLinesSpliterator(segment, 0, segment.byteSize(), 64, 16);
+    assertThrows(JsonException.class, () -> tooLong.tryAdvance(ji -> fail()));
+  }
+
+  @Test
+  void test_mapped_file() throws IOException {
+    final var file = Files.createTempFile("json-iterator", ".jsonl");
+    try {
+      Files.write(file, JSON_LINES);
+      try (final var stream = JsonLines.stream(file)) {
+        assertEquals(EXPECTED_SUM, stream.parallel().mapToLong(TestJsonLines::sumIds).sum());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import systems.comodal.jsoniter.factories.JsonIteratorFactory;
+import systems.comodal.jsoniter.factory.JsonTranscoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestJsonTranscoder {
+
+  private static final String JSON = """
+      {"id": 7, "meta": {"debug": [1, {"x": 2}], "trace": "abc", "keep": {"a": [ true , null ]}},
+       "data": [
+         {"price": 1.25, "qty": "10", "tags": ["a", "b"], "sec\\"ret": 1},
+         {"qty": "2", "price": -3, "sec\\"ret": {"deep": [1, 2]}},
+         {"price": null, "é": "ü"}
+       ],
+       "empty": {}, "none": null, "text": "a\\"b"}""";
+
+  private static final String EXPECTED = "{\"id\":7,\"meta\":{\"keep\":{\"a\": [ true , null ]}},"
+      + "\"data\":[{\"price\":2.5,\"qty\":10,\"tags\":[\"a\", \"b\"]},{\"qty\":2,\"price\":-6},{\"price\":null,\"é\":\"ü\"}],"
+      + "\"empty\":{},\"none\":null,\"text\":\"a\\\"b\"}";
+
+  private static JsonTranscoder createTranscoder() {
+    return JsonTranscoder.create()
+        .remove("meta.debug")
+        .remove("meta.trace")
+        .remove("data.sec\"ret")
+        .rewrite("data.price", (ji, writer) -> {
+          if (ji.readNull()) {
+            writer.writeNull();
+          } else {
+            writer.writeDouble(ji.readDouble() * 2);
+          }
+        })
+        .rewrite("data.qty", (ji, writer) -> writer.writeLong(ji.readLong()));
+  }
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_transcode(final JsonIteratorFactory factory) {
+    final var transcoder = createTranscoder();
+    final var writer = JsonWriter.create(64);
+    transcoder.transcode(factory.create(JSON), writer);
+    assertEquals(EXPECTED, new String(writer.toByteArray(), StandardCharsets.UTF_8));
+
+    final var out = new ByteArrayOutputStream();
+    try (final var streamWriter = JsonWriter.create(out, 64)) {
+      final var ji = factory.create("[" + JSON + ", 1, " + JSON + "]");
+      streamWriter.openArray();
+      while (ji.readArray()) {
+        transcoder.transcode(ji, streamWriter);
+      }
+      streamWriter.closeArray();
+    }
+    assertEquals('[' + EXPECTED + ",1," + EXPECTED + ']', out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void test_untouched() {
+    final var writer = JsonWriter.create();
+    JsonTranscoder.create().transcode(JsonIterator.parse(JSON), writer);
+    assertEquals(JSON, new String(writer.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void test_paths() {
+    final var transcoder = JsonTranscoder.create().remove("a.b");
+    assertThrows(IllegalArgumentException.class, () -> transcoder.remove("a.b"));
+    assertThrows(IllegalArgumentException.class, () -> transcoder.remove("a"));
+    assertThrows(IllegalArgumentException.class, () -> transcoder.remove("a.b.c"));
+    assertThrows(IllegalArgumentException.class, () -> transcoder.remove(""));
+    transcoder.rewrite("a.c", (ji, writer) -> writer.writeString(ji.readString().toUpperCase()));
+
+    final var writer = JsonWriter.create();
+    transcoder.transcode(JsonIterator.parse("{\"a\": {\"b\": 1, \"c\": \"x\", \"d\": 2}, \"b\": 3}"), writer);
+    assertEquals("{\"a\":{\"c\":\"X\",\"d\":2},\"b\":3}", new String(writer.toByteArray(), StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,237 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestJsonWriter {
+
+  private static String toString(final JsonWriter writer) {
+    return new String(writer.buffer(), 0, writer.size(), StandardCharsets.UTF_8);
+  }
+
+  private static void writeDocument(final JsonWriter writer) {
+    writer.openObject()
+        .writeField("id").writeLong(Long.MIN_VALUE)
+        .writeField("ints").openArray().writeInt(0).writeInt(-1).writeInt(Integer.MAX_VALUE).writeInt(Integer.MIN_VALUE).closeArray()
+        .writeField("empty").openObject().closeObject()
+        .writeField("nested").openArray().openArray().closeArray().openObject().writeField("a").writeNull().closeObject().closeArray()
+        .writeField("flags").openArray().writeBoolean(true).writeBoolean(false).closeArray()
+        .writeField("double").writeDouble(1.5)
+        .writeField("nan").writeDouble(Double.NaN)
+        .writeField("text").writeString("quote\" back\\slash\n\t\u0001 é ☃ 😀")
+        .writeField("null").writeString(null)
+        .writeField("chars").writeString("xabcx".toCharArray(), 1, 3)
+        .closeObject();
+  }
+
+  private static final String DOCUMENT = "{\"id\":-9223372036854775808,\"ints\":[0,-1,2147483647,-2147483648],\"empty\":{},"
+      + "\"nested\":[[],{\"a\":null}],\"flags\":[true,false],\"double\":1.5,\"nan\":\"NaN\","
+      + "\"text\":\"quote\\\" back\\\\slash\\n\\t\\u0001 é ☃ 😀\",\"null\":null,\"chars\":\"abc\"}";
+
+  @Test
+  void test_document() {
+    final var writer = JsonWriter.create(64);
+    writeDocument(writer);
+    assertEquals(DOCUMENT, toString(writer));
+    assertArrayEquals(DOCUMENT.getBytes(StandardCharsets.UTF_8), writer.toByteArray());
+
+    writer.reset().openArray().writeInt(1).closeArray();
+    assertEquals("[1]", toString(writer));
+
+    final var ji = JsonIterator.parse(DOCUMENT.getBytes(StandardCharsets.UTF_8));
+    assertEquals("id", ji.readObjField());
+    assertEquals(Long.MIN_VALUE, ji.readLong());
+    ji.skipUntil("nan");
+    assertTrue(Double.isNaN(ji.readDouble()));
+    assertEquals("text", ji.readObjField());
+    assertEquals("quote\" back\\slash\n\t\u0001 é ☃ 😀", ji.readString());
+  }
+
+  @Test
+  void test_sinks() {
+    final var bytes = new ByteArrayOutputStream();
+    try (final var writer = JsonWriter.create(bytes, 64)) {
+      writeDocument(writer);
+    }
+    assertEquals(DOCUMENT, bytes.toString(StandardCharsets.UTF_8));
+
+    final var buffer = ByteBuffer.allocate(1024);
+    final var writer = JsonWriter.create(buffer, 64);
+    writeDocument(writer);
+    writer.flush();
+    assertEquals(DOCUMENT, new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void test_strings() {
+    final var random = new Random(7);
+    final var writer = JsonWriter.create(64);
+    final char[] alphabet = "abcdefgh\"\\\n\u001féü☃😀".toCharArray();
+    for (int i = 0; i < 200; ++i) {
+      final var builder = new StringBuilder();
+      for (int len = random.nextInt(2_000); builder.length() < len; ) {
+        final int c = random.nextInt(alphabet.length);
+        if (Character.isHighSurrogate(alphabet[c])) {
+          builder.append(alphabet[c]).append(alphabet[c + 1]);
+        } else if (!Character.isLowSurrogate(alphabet[c])) {
+          builder.append(alphabet[c]);
+        }
+      }
+      final var expected = builder.toString();
+      writer.reset().writeString(expected);
+      final var ji = JsonIterator.parse(writer.toByteArray());
+      assertEquals(expected, ji.readString());
+    }
+
+    final var dense = "a\"\\\n".repeat(5_000);
+    writer.reset().writeString(dense);
+    assertEquals(2 + dense.length() * 2 - 5_000, writer.size());
+    assertEquals(dense, JsonIterator.parse(writer.toByteArray()).readString());
+
+    // The low byte of each non-ASCII char is a quote, backslash, control char, letter or high bit.
+    final var sparse = "plain ascii text, \u0122\u015c\u010a\u0141\u007f\u0080\u01ff then more ascii".repeat(50);
+    writer.reset().writeString(sparse);
+    assertArrayEquals(('"' + sparse + '"').getBytes(StandardCharsets.UTF_8), writer.toByteArray());
+    writer.reset().writeString(sparse.toCharArray(), 3, sparse.length() - 7);
+    assertArrayEquals(('"' + sparse.substring(3, sparse.length() - 4) + '"').getBytes(StandardCharsets.UTF_8), writer.toByteArray());
+  }
+
+  @Test
+  void test_numbers() {
+    final var writer = JsonWriter.create();
+    final long[] values = {0, 1, 9, 10, 99, 100, 999_999_999, 1_000_000_000, Long.MAX_VALUE, -Long.MAX_VALUE};
+    writer.openArray();
+    for (final long value : values) {
+      writer.writeLong(value);
+    }
+    writer.closeArray();
+    final var ji = JsonIterator.parse(writer.toByteArray());
+    final var read = new long[values.length];
+    assertEquals(values.length, ji.readLongArray(read, 0));
+    assertArrayEquals(values, read);
+
+    writer.reset().writeRawValue("x[1, 2]x".getBytes(), 1, 7).writeRawValue("3".getBytes(), 0, 1);
+    assertEquals("[1, 2],3", toString(writer));
+    assertArrayEquals(Arrays.copyOf(writer.buffer(), writer.size()), writer.toByteArray());
+  }
+
+  @Test
+  void test_field_bytes() {
+    final var field = "xé☃ long field name\"\u0001x".getBytes(StandardCharsets.UTF_8);
+    final var writer = JsonWriter.create()
+        .openObject()
+        .writeField(field, 1, field.length - 4).writeInt(1)
+        .writeField(field, 1, field.length - 2).writeInt(2)
+        .closeObject();
+    assertEquals("{\"é☃ long field name\":1,\"é☃ long field name\\\"\\u0001\":2}", toString(writer));
+  }
+
+  private static String writeDouble(final double value) {
+    return toString(JsonWriter.create().writeDouble(value));
+  }
+
+  private static String writeFloat(final float value) {
+    return toString(JsonWriter.create().writeFloat(value));
+  }
+
+  @Test
+  void test_double_format() {
+    assertEquals("0", writeDouble(0));
+    assertEquals("-0", writeDouble(-0.0));
+    assertEquals("1", writeDouble(1));
+    assertEquals("-1.5", writeDouble(-1.5));
+    assertEquals("100", writeDouble(100));
+    assertEquals("0.1", writeDouble(0.1));
+    assertEquals("0.3", writeDouble(0.3));
+    assertEquals("0.30000000000000004", writeDouble(0.1 + 0.2));
+    assertEquals("0.000001", writeDouble(1e-6));
+    assertEquals("1e-7", writeDouble(1e-7));
+    assertEquals("1.5e-7", writeDouble(1.5e-7));
+    assertEquals("123456789012345680000", writeDouble(1.2345678901234568e20));
+    assertEquals("1e21", writeDouble(1e21));
+    assertEquals("1e23", writeDouble(1e23));
+    assertEquals("2e-323", writeDouble(2e-323));
+    assertEquals("5e-324", writeDouble(Double.MIN_VALUE));
+    assertEquals("-1.7976931348623157e308", writeDouble(-Double.MAX_VALUE));
+    assertEquals("2.2250738585072014e-308", writeDouble(Double.MIN_NORMAL));
+    assertEquals("9007199254740992", writeDouble(9007199254740992.0));
+    assertEquals("\"Infinity\"", writeDouble(Double.POSITIVE_INFINITY));
+
+    assertEquals("0.1", writeFloat(0.1f));
+    assertEquals("-3.4028235e38", writeFloat(-Float.MAX_VALUE));
+    assertEquals("1e-45", writeFloat(Float.MIN_VALUE));
+    assertEquals("16777216", writeFloat(16777216f));
+    assertEquals("\"NaN\"", writeFloat(Float.NaN));
+
+    for (int t = 1; t < 16; ++t) {
+      final var tiny = Double.longBitsToDouble(t);
+      assertEquals(tiny, Double.parseDouble(writeDouble(tiny)));
+      final var tinyFloat = Float.intBitsToFloat(t);
+      assertEquals(tinyFloat, Float.parseFloat(writeFloat(tinyFloat)));
+      assertTrue(significantDigits(writeFloat(tinyFloat)) <= significantDigits(Float.toString(tinyFloat)));
+    }
+  }
+
+  private static int significantDigits(final String decimal) {
+    final var mantissa = decimal.replace("-", "").split("[eE]")[0].replace(".", "");
+    return mantissa.replaceAll("^0+", "").replaceAll("0+$", "").length();
+  }
+
+  @Test
+  void test_double_round_trip() {
+    final var random = new Random(22);
+    final var writer = JsonWriter.create();
+    for (int i = 0; i < 100_000; ++i) {
+      final double value = switch (i & 3) {
+        case 0 -> Double.longBitsToDouble(random.nextLong());
+        case 1 -> random.nextDouble();
+        case 2 -> random.nextInt(1_000_000) / 100.0;
+        default -> random.nextGaussian() * Math.pow(10, random.nextInt(40) - 20);
+      };
+      if (!Double.isFinite(value)) {
+        continue;
+      }
+      final var decimal = toString(writer.reset().writeDouble(value));
+      assertEquals(value, Double.parseDouble(decimal), decimal);
+      assertEquals(value, JsonIterator.parse(writer.toByteArray()).readDouble(), decimal);
+      assertTrue(significantDigits(decimal) <= significantDigits(Double.toString(value)), decimal);
+
+      final float floatValue = Float.intBitsToFloat(random.nextInt());
+      if (Float.isFinite(floatValue)) {
+        final var floatDecimal = toString(writer.reset().writeFloat(floatValue));
+        assertEquals(floatValue, Float.parseFloat(floatDecimal), floatDecimal);
+        assertEquals(floatValue, JsonIterator.parse(writer.toByteArray()).readFloat(), floatDecimal);
+        assertTrue(significantDigits(floatDecimal) <= significantDigits(Float.toString(floatValue)), floatDecimal);
+      }
+    }
+  }
+
+  @Test
+  void test_unscaled() {
+    final var writer = JsonWriter.create();
+    assertEquals("123.45", toString(writer.writeUnscaled(12345, 2)));
+    assertEquals("-0.05", toString(writer.reset().writeUnscaled(-5, 2)));
+    assertEquals("0.000", toString(writer.reset().writeUnscaled(0, 3)));
+    assertEquals("1.20", toString(writer.reset().writeUnscaled(120, 2)));
+    assertEquals("42", toString(writer.reset().writeUnscaled(42, 0)));
+    assertEquals("-922337203.6854775808", toString(writer.reset().writeUnscaled(Long.MIN_VALUE, 10)));
+    assertEquals("0.0000000000000000000000000001", toString(writer.reset().writeUnscaled(1, 28)));
+    assertThrows(IllegalArgumentException.class, () -> writer.writeUnscaled(1, -1));
+
+    final var random = new Random(13);
+    for (int i = 0; i < 10_000; ++i) {
+      final long unscaled = random.nextLong() >> random.nextInt(64);
+      final int scale = random.nextInt(19);
+      writer.reset().writeUnscaled(unscaled, scale);
+      final var ji = JsonIterator.parse(writer.toByteArray());
+      assertEquals(unscaled, ji.readUnscaledAsLong(scale), toString(writer));
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+import systems.comodal.jsoniter.factory.JsonIterParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestMappedFile {
+
+  @Test
+  void test_mapped_file() throws IOException {
+    final var file = Files.createTempFile("json-iterator", ".json");
+    try {
+      Files.writeString(file, "{\"hello\": \"world\", \"numbers\": [1, 2, 3], \"nested\": {\"a\": [\"b\"]}, \"last\": true}");
+      try (final var ji = JsonIterator.parse(file)) {
+        assertTrue(ji.supportsMarkReset());
+        assertEquals("hello", ji.readObjField());
+        final int mark = ji.mark();
+        assertEquals("world", ji.readString());
+        ji.reset(mark);
+        assertEquals("world", ji.readString());
+        assertEquals("a", ji.skipUntil("nested").readObjField());
+        assertEquals("b", ji.openArray().readString());
+        ji.closeArray().closeObj();
+        assertTrue(ji.skipUntil("last").readBoolean());
+      }
+
+      final JsonIterParser<String> parser = ji -> ji.skipUntil("hello").readString();
+      assertEquals("world", parser.parse(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void test_missing_file() {
+    assertThrows(UncheckedIOException.class, () -> JsonIterator.parse(Path.of("does-not-exist.json")));
+  }
+}
@@ -0,0 +1,60 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestMarkableStream {
+
+  private static JsonIterator parse(final String json, final int bufSize) {
+    return JsonIterator.parseMarkable(new ByteArrayInputStream(json.getBytes()), bufSize);
+  }
+
+  @Test
+  void test_peek_type_then_rewind() {
+    final var json = "[{\"price\": 1.25, \"size\": 12345678, \"type\": \"trade\"}, {\"type\": \"quote\", \"bid\": 1}]";
+    for (int bufSize = 1; bufSize <= json.length(); ++bufSize) {
+      final var ji = parse(json, bufSize);
+      assertTrue(ji.supportsMarkReset());
+      assertTrue(ji.readArray());
+      long mark = ji.markLong();
+      assertEquals("trade", ji.skipUntil("type").readString());
+      ji.reset(mark).releaseMarks();
+      assertEquals(1.25, ji.skipUntil("price").readDouble());
+      assertEquals(12345678, ji.skipUntil("size").readInt());
+      assertEquals("trade", ji.skipUntil("type").readString());
+      assertNull(ji.readObjField());
+      assertTrue(ji.readArray());
+      mark = ji.markLong();
+      assertEquals("quote", ji.skipUntil("type").readString());
+      ji.reset(mark).releaseMarks();
+      assertEquals(1, ji.skipUntil("bid").readInt());
+      assertNull(ji.readObjField());
+      assertFalse(ji.readArray());
+    }
+  }
+
+  @Test
+  void test_released_marks_are_discarded() {
+    final var ji = parse("[\"abcdefgh\", \"ijklmnop\", \"qrstuvwx\"]", 4);
+    assertTrue(ji.readArray());
+    final long mark = ji.markLong();
+    ji.releaseMarks();
+    assertEquals("abcdefgh", ji.readString());
+    assertTrue(ji.readArray());
+    assertEquals("ijklmnop", ji.readString());
+    assertThrows(IndexOutOfBoundsException.class, () -> ji.reset(mark));
+    assertTrue(ji.readArray());
+    assertEquals("qrstuvwx", ji.readString());
+    assertFalse(ji.readArray());
+  }
+
+  @Test
+  void test_unscaled_exponent_across_refills() {
+    for (int bufSize = 1; bufSize <= 16; ++bufSize) {
+      assertEquals(123450000L, parse("1.2345e2", bufSize).readUnscaledAsLong(6));
+    }
+  }
+}
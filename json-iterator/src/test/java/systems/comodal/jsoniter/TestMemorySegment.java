@@ -0,0 +1,77 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestMemorySegment {
+
+  private static JsonIterator windowed(final String json, final int window) {
+    final var segment = MemorySegment.ofArray(json.getBytes());
+    return new MemorySegmentJsonIterator(segment, 0, segment.byteSize(), 8, window);
+  }
+
+  @Test
+  void test_sliding_window() {
+    final var json = "{\"hello\": \"world\", \"numbers\": [123456789, -42, 3.25], \"long\": \"0123456789abcdefghij\", \"nested\": {\"a\": [\"b\"]}, \"last\": true}";
+    for (int window = Long.BYTES; window <= json.length(); ++window) {
+      final var ji = windowed(json, window);
+      assertEquals("hello", ji.readObjField());
+      assertEquals("world", ji.readString());
+      assertEquals("numbers", ji.readObjField());
+      assertTrue(ji.readArray());
+      assertEquals(123456789, ji.readInt());
+      assertTrue(ji.readArray());
+      assertEquals(-42L, ji.readLong());
+      assertTrue(ji.readArray());
+      assertEquals(3.25, ji.readDouble());
+      assertFalse(ji.readArray());
+      assertEquals("long", ji.readObjField());
+      assertEquals("0123456789abcdefghij", ji.readString());
+      assertNotNull(ji.skipObjField());
+      ji.skip();
+      assertEquals("last", ji.readObjField());
+      assertTrue(ji.readBoolean());
+      assertNull(ji.readObjField());
+    }
+  }
+
+  @Test
+  void test_base64_across_windows() {
+    final var data = new byte[256];
+    new Random().nextBytes(data);
+    final var json = "{\"data\":\"" + Base64.getEncoder().encodeToString(data) + "\"}";
+    for (int window = Long.BYTES; window <= 64; ++window) {
+      assertArrayEquals(data, windowed(json, window).skipUntil("data").decodeBase64String());
+    }
+  }
+
+  @Test
+  void test_long_marks() {
+    final var json = "[\"abcdefghijklmnop\", 1, {\"a\": 2}, 3]";
+    final var ji = windowed(json, Long.BYTES);
+    assertTrue(ji.readArray());
+    final long mark = ji.markLong();
+    assertEquals("abcdefghijklmnop", ji.readString());
+    assertTrue(ji.readArray());
+    assertEquals(1, ji.readInt());
+    ji.reset(mark);
+    assertEquals("abcdefghijklmnop", ji.readString());
+    assertTrue(ji.readArray());
+    assertEquals(1, ji.readInt());
+    assertTrue(ji.readArray());
+    ji.skip();
+    final long end = ji.markLong();
+    assertTrue(ji.readArray());
+    assertEquals(3, ji.readInt());
+    assertFalse(ji.readArray());
+    ji.reset(end);
+    assertTrue(ji.readArray());
+    assertEquals(3, ji.readInt());
+    assertThrows(IndexOutOfBoundsException.class, () -> ji.reset((long) json.length() + 1));
+  }
+}
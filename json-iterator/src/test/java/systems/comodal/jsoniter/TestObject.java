@@ -4,6 +4,10 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import systems.comodal.jsoniter.factories.JsonIteratorFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static org.junit.jupiter.api.Assertions.*;
@@ -50,6 +54,52 @@ final class TestObject {
     assertNull(ji.skipObjField());
   }
 
+  private static final byte[] ID = "id".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] TIMESTAMP = "timestamp_millis".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] PRICE = "préço".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] QUOTED = "a\"bé".getBytes(StandardCharsets.UTF_8);
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_field_bytes(final JsonIteratorFactory factory) {
+    final var json = """
+        {"id": 7, "timestamp_millis": 1700000000000, "préço": 1.5, "a\\"bé": true, "timestamp_millit": 1, "x": null}""";
+    var ji = factory.create(json);
+    final long[] values = new long[5];
+    final var unknown = new ArrayList<String>();
+    ji.testObjectBytes(values, (context, buf, offset, len, jsonIterator) -> {
+      if (JsonIterator.fieldEquals(ID, buf, offset, len)) {
+        context[0] = jsonIterator.readLong();
+      } else if (JsonIterator.fieldEquals(TIMESTAMP, buf, offset, len)) {
+        context[1] = jsonIterator.readLong();
+      } else if (JsonIterator.fieldEquals(PRICE, buf, offset, len)) {
+        context[2] = Double.doubleToLongBits(jsonIterator.readDouble());
+      } else if (JsonIterator.fieldEquals(QUOTED, buf, offset, len)) {
+        context[3] = jsonIterator.readBoolean() ? 1 : 0;
+      } else {
+        unknown.add(new String(buf, offset, len, StandardCharsets.UTF_8));
+        jsonIterator.skip();
+      }
+      return true;
+    });
+    assertArrayEquals(new long[]{7, 1700000000000L, Double.doubleToLongBits(1.5), 1, 0}, values);
+    assertEquals(List.of("timestamp_millit", "x"), unknown);
+
+    ji = factory.create(json);
+    unknown.clear();
+    ji.testObjectBytes((buf, offset, len, jsonIterator) -> {
+      unknown.add(new String(buf, offset, len, StandardCharsets.UTF_8));
+      return !JsonIterator.fieldEquals(TIMESTAMP, buf, offset, len) && jsonIterator.skip() != null;
+    });
+    assertEquals(List.of("id", "timestamp_millis"), unknown);
+    assertEquals(1700000000000L, ji.readLong());
+
+    ji = factory.create("null");
+    ji.testObjectBytes((buf, offset, len, jsonIterator) -> fail());
+    ji = factory.create("{}");
+    ji.testObjectBytes((buf, offset, len, jsonIterator) -> fail());
+  }
+
   @ParameterizedTest
   @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
   void test_two_fields(final JsonIteratorFactory factory) {
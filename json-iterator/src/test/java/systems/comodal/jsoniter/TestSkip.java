@@ -1,13 +1,82 @@
 package systems.comodal.jsoniter;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import systems.comodal.jsoniter.factories.JsonIteratorFactory;
 
+import java.io.ByteArrayInputStream;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 final class TestSkip {
 
+  private static final String[] RAW_VALUES = {
+      "{\"a\": [1, 2, {\"b\": \"]}\\\"\"}], \"c\": null}",
+      "\"héllo \\\" world\"",
+      "-12.5e3",
+      "[]",
+      "true",
+      "null",
+      "[\"a long string spanning several refills of small buffers\", {\"x\": false}]",
+      "7"
+  };
+
+  private static String rawValuesJson() {
+    return "[ " + String.join(" ,\n  ", RAW_VALUES) + " ]";
+  }
+
+  private static void assertRawValues(final JsonIterator ji) {
+    for (final var expected : RAW_VALUES) {
+      assertTrue(ji.readArray());
+      assertEquals(expected, new String(ji.readRawValue(), StandardCharsets.UTF_8));
+    }
+    assertFalse(ji.readArray());
+  }
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_raw_value(final JsonIteratorFactory factory) {
+    assertRawValues(factory.create(rawValuesJson()));
+
+    final var ji = factory.create("{\"id\": 1, \"payload\": {\"nested\": [1, 2]}, \"next\": \"a\"}");
+    assertEquals("id", ji.readObjField());
+    assertEquals(1, ji.readInt());
+    assertEquals("payload", ji.readObjField());
+    final int len = ji.applyRawValue((buf, from, to) -> {
+      assertEquals("{\"nested\": [1, 2]}", new String(buf, from, to - from, StandardCharsets.UTF_8));
+      return to - from;
+    });
+    assertEquals(18, len);
+    assertEquals("next", ji.readObjField());
+    assertEquals("a", ji.readString());
+    assertNull(ji.readObjField());
+  }
+
+  @Test
+  void test_raw_value_across_windows() {
+    final var json = rawValuesJson().getBytes(StandardCharsets.UTF_8);
+    assertRawValues(new MemorySegmentJsonIterator(MemorySegment.ofArray(json), 0, json.length, 64, 8));
+
+    final var markable = JsonIterator.parseMarkable(new ByteArrayInputStream(json), 4);
+    final long mark = markable.markLong();
+    assertRawValues(markable);
+    markable.reset(mark);
+    assertRawValues(markable);
+  }
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_raw_value_at_end_of_input(final JsonIteratorFactory factory) {
+    // Numbers are only terminated by the end of input, which must not capture the last buffer twice.
+    for (final var number : new String[]{"7", "12345", "-1234567.890123e-12", "123456789012345678901234567890"}) {
+      assertEquals(number, new String(factory.create(number).readRawValue(), StandardCharsets.UTF_8));
+      assertEquals(number, new String(factory.create(" " + number).readRawValue(), StandardCharsets.UTF_8));
+    }
+  }
+
   @ParameterizedTest
   @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
   void test_skip_number(final JsonIteratorFactory factory) {
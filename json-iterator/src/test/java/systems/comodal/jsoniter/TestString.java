@@ -6,7 +6,11 @@ import org.junit.jupiter.params.provider.MethodSource;
 import systems.comodal.jsoniter.factories.JsonIteratorFactory;
 
 import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Random;
 
 import static java.lang.String.format;
@@ -16,6 +20,61 @@ final class TestString {
 
   private static final Base64.Encoder BASE64_ENCODER = Base64.getEncoder();
 
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_intern_strings(final JsonIteratorFactory factory) {
+    final var json = """
+        [{"sym": "BTC", "status": "open", "venue": "éx"}, {"sym": "BTC", "status": "open", "venue": "éx"},
+         {"sym": "a long symbol which is not cached", "status": "a\\"b"}, {"sym": "a long symbol which is not cached", "status": "a\\"b"}]""";
+    var ji = factory.create(json);
+    assertSame(ji, ji.internStrings(64, 16));
+    final var values = new ArrayList<String>();
+    while (ji.readArray()) {
+      for (var field = ji.readObjField(); field != null; field = ji.readObjField()) {
+        values.add(field);
+        values.add(ji.readString());
+      }
+    }
+    assertEquals(List.of(
+        "sym", "BTC", "status", "open", "venue", "éx", "sym", "BTC", "status", "open", "venue", "éx",
+        "sym", "a long symbol which is not cached", "status", "a\"b",
+        "sym", "a long symbol which is not cached", "status", "a\"b"
+    ), values);
+    for (int i = 0; i < 6; ++i) {
+      assertSame(values.get(i), values.get(i + 6));
+    }
+    assertSame(values.get(0), values.get(12));
+    assertNotSame(values.get(13), values.get(17));
+    assertSame(values.get(15), values.get(19));
+
+    ji = factory.create("[\"BTC\", \"BTC\"]");
+    assertTrue(ji.readArray());
+    final var first = ji.readString();
+    assertTrue(ji.readArray());
+    assertNotSame(first, ji.readString());
+
+    ji = factory.create("[\"BTC\", \"ETH\", \"BTC\"]").internStrings(1);
+    assertTrue(ji.readArray());
+    final var btc = ji.readString();
+    assertTrue(ji.readArray());
+    assertEquals("ETH", ji.readString());
+    assertTrue(ji.readArray());
+    final var evicted = ji.readString();
+    assertEquals(btc, evicted);
+    assertNotSame(btc, evicted);
+
+    assertThrows(IllegalArgumentException.class, () -> factory.create("\"\"").internStrings(-1));
+
+    ji = factory.create("\"BTC\"").internStrings(8);
+    final var cached = ji.readString();
+    final var bytes = "\"BTC\"".getBytes();
+    assertSame(cached, ji.reset(bytes).readString());
+    assertSame(cached, ji.reset("\"BTC\"".toCharArray()).readString());
+    assertSame(cached, ji.reset(new ByteArrayInputStream(bytes)).readString());
+    assertSame(cached, ji.reset(ByteBuffer.wrap(bytes)).readString());
+    assertSame(cached, ji.reset(Channels.newChannel(new ByteArrayInputStream(bytes))).readString());
+  }
+
   @ParameterizedTest
   @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
   void test_ascii_string(final JsonIteratorFactory factory) {
@@ -103,6 +162,20 @@ final class TestString {
     assertEquals("中文", ji.readString());
   }
 
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_long_utf8_string(final JsonIteratorFactory factory) {
+    final var expected = "中文中文中文abcdefgh";
+    var ji = factory.create('"' + expected + '"');
+    assertEquals(expected, ji.readString());
+
+    ji = factory.create("[\"" + expected + "\",1]");
+    assertTrue(ji.readArray());
+    ji.skip();
+    assertTrue(ji.readArray());
+    assertEquals(1, ji.readInt());
+  }
+
   @ParameterizedTest
   @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
   void test_incomplete_escape(final JsonIteratorFactory factory) {
@@ -175,4 +248,27 @@ final class TestString {
     var ji = factory.create("\"[\\\"LL\\\",\\\"MM\\\\\\/LW\\\",\\\"JY\\\",\\\"S\\\",\\\"C\\\",\\\"IN\\\",\\\"ME \\\\\\/ LE\\\"]\"");
     assertEquals("[\"LL\",\"MM\\/LW\",\"JY\",\"S\",\"C\",\"IN\",\"ME \\/ LE\"]", ji.readString());
   }
+
+  @ParameterizedTest
+  @MethodSource("systems.comodal.jsoniter.TestFactories#factories")
+  void test_strings_across_buffer_sizes(final JsonIteratorFactory factory) {
+    final var random = new Random();
+    final var data = new byte[97];
+    random.nextBytes(data);
+    final var encoded = BASE64_ENCODER.encodeToString(data);
+    final var ascii = "abcdefghijklmnopqrstuvwxyz0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    final var json = format("[\"%s\", \"%s\\n%s\", \"%s\", \"%s\"]", ascii, ascii, "é" + ascii, encoded, ascii);
+    for (int bufferLength = 1; bufferLength <= json.length(); ++bufferLength) {
+      final var ji = factory.create(json, bufferLength, 4);
+      assertTrue(ji.readArray());
+      assertEquals(ascii, ji.readString());
+      assertTrue(ji.readArray());
+      assertEquals(ascii + '\n' + "é" + ascii, ji.readString());
+      assertTrue(ji.readArray());
+      assertArrayEquals(data, ji.decodeBase64String());
+      assertTrue(ji.readArray());
+      assertTrue(ji.testChars((buf, offset, len) -> ascii.equals(new String(buf, offset, len))));
+      assertFalse(ji.readArray());
+    }
+  }
 }
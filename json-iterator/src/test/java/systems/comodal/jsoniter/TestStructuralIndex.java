@@ -0,0 +1,75 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestStructuralIndex {
+
+  private static final String JSON = """
+      {
+        "skip": {"a": [1, {"b": "}]\\\\"}, "\\"{["], "c": {}},
+        "array": [[1, 2], {"x": "]"}, [], "[", 3],
+        "rest": {"d": 1, "e": {"f": [1, 2]}, "g": "}"},
+        "last": [1, [2, {"h": 3}], 4]
+      }""";
+
+  @Test
+  void test_index() {
+    final var bytes = "{\"a\": [1, \"]\\\"\"], \"b\": {}}".getBytes();
+    final var index = new StructuralIndex(1).index(bytes, 0, bytes.length);
+    final var expected = "{\":[,\"],\":{}}";
+    assertEquals(expected.length(), index.size());
+    for (int i = 0; i < expected.length(); ++i) {
+      assertEquals(expected.charAt(i), (char) bytes[index.position(i)]);
+    }
+    assertEquals(12, index.match(0));
+    assertEquals(6, index.match(3));
+    assertEquals(11, index.match(10));
+    assertEquals(StructuralIndex.NONE, index.match(1));
+    assertEquals(StructuralIndex.CLOSE, index.match(6));
+  }
+
+  @Test
+  void test_skips() {
+    for (final var ji : new JsonIterator[]{JsonIterator.parse(JSON.getBytes()), JsonIterator.parseIndexed(JSON.getBytes())}) {
+      assertEquals("skip", ji.readObjField());
+      ji.skip();
+      assertEquals("array", ji.readObjField());
+      assertTrue(ji.readArray());
+      ji.skip();
+      assertTrue(ji.readArray());
+      assertEquals("x", ji.readObjField());
+      assertEquals("]", ji.readString());
+      ji.skipRestOfObject();
+      assertTrue(ji.readArray());
+      ji.skipRestOfArray();
+      assertTrue(ji.readArray());
+      assertEquals("[", ji.readString());
+      ji.skipRestOfArray();
+      assertEquals("d", ji.skipUntil("rest").readObjField());
+      assertEquals(1, ji.readInt());
+      ji.skipRestOfObject();
+      assertEquals("last", ji.readObjField());
+      ji.skipRestOfArray();
+      assertNull(ji.readObjField());
+    }
+  }
+
+  @Test
+  void test_reset() {
+    final var ji = JsonIterator.parseIndexed("{\"a\": [1, 2]}".getBytes());
+    assertSame(ji, ji.reset("[{\"b\": [[]]}, 3]".getBytes()));
+    assertTrue(ji.readArray());
+    ji.skip();
+    assertTrue(ji.readArray());
+    assertEquals(3, ji.readInt());
+  }
+
+  @Test
+  void test_unbalanced() {
+    final var ji = JsonIterator.parseIndexed("{\"a\": [1, {\"b\": 2}}".getBytes());
+    assertEquals("a", ji.readObjField());
+    assertThrows(JsonException.class, ji::skip);
+  }
+}
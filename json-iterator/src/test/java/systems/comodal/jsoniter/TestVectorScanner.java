@@ -0,0 +1,65 @@
+package systems.comodal.jsoniter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TestVectorScanner {
+
+  /**
+   * Whole vectors are scanned from {@code from}, so the result is the first match if it lies before the trailing
+   * partial vector, otherwise the start of the trailing partial vector.
+   */
+  private static void assertScanned(final byte[] buf, final int from, final int to, final int expected) {
+    final int partialVector = from + ((buf.length - from) / VectorScanner.LANES) * VectorScanner.LANES;
+    assertEquals(Math.min(expected, partialVector), to);
+  }
+
+  private static int indexOf(final byte[] buf, final int from, final String match, final boolean multiByte) {
+    for (int i = from; i < buf.length; ++i) {
+      if (match.indexOf(buf[i]) >= 0 || (multiByte && buf[i] < 0)) {
+        return i;
+      }
+    }
+    return buf.length;
+  }
+
+  @Test
+  void test_scans() {
+    if (!BytesJsonIterator.VECTORIZED) {
+      return;
+    }
+    final var random = new Random(8);
+    final var alphabet = "abcdefgh \n\t\r{}[]\"\\é".getBytes();
+    for (int n = 0; n < 1_000; ++n) {
+      final var buf = new byte[random.nextInt(256)];
+      for (int i = 0; i < buf.length; ++i) {
+        buf[i] = random.nextInt(8) == 0 ? alphabet[random.nextInt(alphabet.length)] : (byte) ('a' + random.nextInt(8));
+      }
+      final int from = buf.length == 0 ? 0 : random.nextInt(buf.length);
+      assertScanned(buf, from, VectorScanner.indexOfQuoteEscapeOrMultiByte(buf, from, buf.length), indexOf(buf, from, "\"\\", true));
+      assertScanned(buf, from, VectorScanner.indexOfQuoteOrEscape(buf, from, buf.length), indexOf(buf, from, "\"\\", false));
+      assertScanned(buf, from, VectorScanner.indexOfQuoteOrNesting(buf, from, buf.length, (byte) '{', (byte) '}'), indexOf(buf, from, "\"{}", false));
+      int expected = from;
+      while (expected < buf.length && " \n\r\t".indexOf(buf[expected]) >= 0) {
+        ++expected;
+      }
+      assertScanned(buf, from, VectorScanner.indexOfNonWhitespace(buf, from, buf.length), expected);
+    }
+  }
+
+  @Test
+  void test_skip_nested() {
+    final var json = "{\"a\": {\"b\": [\"}]\\\"\", {\"c\": [[], [1, 2, 3], {}]}], \"padding\": \"0123456789012345678901234567890123456789012345678901234567890123456789\"},\n          \"d\": [\"{\", [\"[\"], {\"e\": \"]\"}],\n          \"last\": true}";
+    final var ji = JsonIterator.parse(json.getBytes());
+    assertEquals("a", ji.readObjField());
+    ji.skip();
+    assertEquals("d", ji.readObjField());
+    ji.skip();
+    assertEquals("last", ji.readObjField());
+    assertTrue(ji.readBoolean());
+    assertNull(ji.readObjField());
+  }
+}
@@ -0,0 +1,38 @@
+package systems.comodal.jsoniter.factories;
+
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.nio.ByteBuffer;
+
+public final class DirectByteBuffer implements JsonIteratorFactory {
+
+  public static final JsonIteratorFactory INSTANCE = new DirectByteBuffer();
+
+  private DirectByteBuffer() {
+  }
+
+  private static ByteBuffer toBuffer(final String json) {
+    final byte[] bytes = json.getBytes();
+    return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+  }
+
+  @Override
+  public JsonIterator create(final String json) {
+    return JsonIterator.parse(toBuffer(json));
+  }
+
+  @Override
+  public JsonIterator create(final String json, final int charBufferLength) {
+    return JsonIterator.parse(toBuffer(json), charBufferLength);
+  }
+
+  @Override
+  public JsonIterator create(final String json, final int bufferLength, final int charBufferLength) {
+    return JsonIterator.parse(toBuffer(json), charBufferLength);
+  }
+
+  @Override
+  public String toString() {
+    return "direct byte buffer";
+  }
+}
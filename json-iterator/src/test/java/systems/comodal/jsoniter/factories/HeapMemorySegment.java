@@ -0,0 +1,34 @@
+package systems.comodal.jsoniter.factories;
+
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.lang.foreign.MemorySegment;
+
+public final class HeapMemorySegment implements JsonIteratorFactory {
+
+  public static final JsonIteratorFactory INSTANCE = new HeapMemorySegment();
+
+  private HeapMemorySegment() {
+  }
+
+  @Override
+  public JsonIterator create(final String json) {
+    return JsonIterator.parse(MemorySegment.ofArray(json.getBytes()));
+  }
+
+  @Override
+  public JsonIterator create(final String json, final int charBufferLength) {
+    final var segment = MemorySegment.ofArray(json.getBytes());
+    return JsonIterator.parse(segment, 0, segment.byteSize(), charBufferLength);
+  }
+
+  @Override
+  public JsonIterator create(final String json, final int bufferLength, final int charBufferLength) {
+    return create(json, charBufferLength);
+  }
+
+  @Override
+  public String toString() {
+    return "heap memory segment";
+  }
+}
@@ -0,0 +1,34 @@
+package systems.comodal.jsoniter.factories;
+
+import systems.comodal.jsoniter.JsonIterator;
+
+public final class IndexedByteArray implements JsonIteratorFactory {
+
+  public static final JsonIteratorFactory INSTANCE = new IndexedByteArray();
+
+  private IndexedByteArray() {
+  }
+
+  @Override
+  public JsonIterator create(final String json) {
+    final byte[] bytes = json.getBytes();
+    return JsonIterator.parseIndexed(bytes, 0, bytes.length);
+  }
+
+  @Override
+  public JsonIterator create(final String json, final int charBufferLength) {
+    final byte[] bytes = json.getBytes();
+    return JsonIterator.parseIndexed(bytes, 0, bytes.length, charBufferLength);
+  }
+
+  @Override
+  public JsonIterator create(final String json, final int bufferLength, final int charBufferLength) {
+    final byte[] bytes = json.getBytes();
+    return JsonIterator.parseIndexed(bytes, 0, bytes.length, charBufferLength);
+  }
+
+  @Override
+  public String toString() {
+    return "indexed byte array";
+  }
+}
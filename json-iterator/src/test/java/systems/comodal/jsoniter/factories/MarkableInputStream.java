@@ -0,0 +1,31 @@
+package systems.comodal.jsoniter.factories;
+
+import systems.comodal.jsoniter.JsonIterator;
+
+public final class MarkableInputStream implements JsonIteratorFactory {
+
+  public static final JsonIteratorFactory INSTANCE = new MarkableInputStream();
+
+  private MarkableInputStream() {
+  }
+
+  @Override
+  public JsonIterator create(final String json) {
+    return JsonIterator.parseMarkable(new java.io.ByteArrayInputStream(json.getBytes()), 8);
+  }
+
+  @Override
+  public JsonIterator create(final String json, final int charBufferLength) {
+    return JsonIterator.parseMarkable(new java.io.ByteArrayInputStream(json.getBytes()), charBufferLength);
+  }
+
+  @Override
+  public JsonIterator create(final String json, final int bufferLength, final int charBufferLength) {
+    return JsonIterator.parseMarkable(new java.io.ByteArrayInputStream(json.getBytes()), bufferLength, charBufferLength);
+  }
+
+  @Override
+  public String toString() {
+    return "markable input stream";
+  }
+}
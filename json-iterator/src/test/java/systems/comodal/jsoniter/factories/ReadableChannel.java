@@ -0,0 +1,39 @@
+package systems.comodal.jsoniter.factories;
+
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+public final class ReadableChannel implements JsonIteratorFactory {
+
+  public static final JsonIteratorFactory INSTANCE = new ReadableChannel();
+
+  private ReadableChannel() {
+  }
+
+  private static ReadableByteChannel toChannel(final String json) {
+    return Channels.newChannel(new java.io.ByteArrayInputStream(json.getBytes()));
+  }
+
+  @Override
+  public JsonIterator create(final String json) {
+    return JsonIterator.parse(toChannel(json), ByteBuffer.allocateDirect(8).limit(0));
+  }
+
+  @Override
+  public JsonIterator create(final String json, final int charBufferLength) {
+    return JsonIterator.parse(toChannel(json), charBufferLength);
+  }
+
+  @Override
+  public JsonIterator create(final String json, final int bufferLength, final int charBufferLength) {
+    return JsonIterator.parse(toChannel(json), bufferLength, charBufferLength);
+  }
+
+  @Override
+  public String toString() {
+    return "readable byte channel";
+  }
+}